@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic CSV data. The same arguments always give the same data, so that results of
+ * different runs can be compared.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class DataGenerator {
+    private static final long SEED = 0x5eed_c5f0_0d15_ea5eL;
+
+    private DataGenerator() {
+    }
+
+    /**
+     * Generate lines of the given shape until the data is at least as long as the given size.
+     *
+     * @param shape         The shape of the lines.
+     * @param lineSeparator The line separator.
+     * @param size          The minimum number of characters.
+     * @return The data.
+     */
+    public static char[] generate(Shape shape, String lineSeparator, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder out = new StringBuilder(size + 32768);
+        while (out.length() < size) {
+            for (int i = 0; i < shape.getColumns(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                shape.appendField(out, random, i);
+            }
+            out.append(lineSeparator);
+        }
+        return toArray(out);
+    }
+
+    /**
+     * Generate a single line whose second field is a JSON document of at least the given size. The double quotes of
+     * the document are escaped by doubling them, as usual when JSON is stored in CSV.
+     *
+     * @param lineSeparator The line separator.
+     * @param size          The minimum number of characters of the document.
+     * @return The data.
+     */
+    public static char[] generateJsonField(String lineSeparator, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder out = new StringBuilder(size + size / 2);
+        out.append("1,\"[");
+        int start = out.length();
+        for (int i = 0; out.length() - start < size; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append("{\"\"id\"\":").append(i).append(",\"\"name\"\":\"\"");
+            appendLetters(out, random, 3, 12);
+            out.append("\"\",\"\"tags\"\":[\"\"");
+            appendLetters(out, random, 2, 6);
+            out.append("\"\",\"\"");
+            appendLetters(out, random, 2, 6);
+            out.append("\"\"]}");
+        }
+        out.append("]\",2").append(lineSeparator);
+        return toArray(out);
+    }
+
+    private static void appendLetters(StringBuilder out, SplittableRandom random, int min, int max) {
+        int length = min + random.nextInt(max - min + 1);
+        for (int i = 0; i < length; i++) {
+            out.append((char) ('a' + random.nextInt(26)));
+        }
+    }
+
+    private static char[] toArray(StringBuilder out) {
+        char[] data = new char[out.length()];
+        out.getChars(0, data.length, data, 0);
+        return data;
+    }
+}
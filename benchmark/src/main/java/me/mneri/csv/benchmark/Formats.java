@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.benchmark;
+
+import java.util.Locale;
+
+import me.mneri.csv.format.CustomFormat;
+import me.mneri.csv.format.FormatProvider;
+import me.mneri.csv.format.MachintoshRelaxedFormat;
+import me.mneri.csv.format.MachintoshStrictFormat;
+import me.mneri.csv.format.MsExcelFormat;
+import me.mneri.csv.format.Rfc4180HalfRelaxedFormat;
+import me.mneri.csv.format.Rfc4180RelaxedFormat;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+
+/**
+ * The formats under benchmark. All of them read comma-separated, double-quoted data.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public enum Formats {
+    RFC4180_STRICT(new Rfc4180StrictFormat.Provider()),
+    RFC4180_RELAXED(new Rfc4180RelaxedFormat.Provider()),
+    RFC4180_HALF_RELAXED(new Rfc4180HalfRelaxedFormat.Provider()),
+    MACHINTOSH_STRICT(MachintoshStrictFormat::new),
+    MACHINTOSH_RELAXED(MachintoshRelaxedFormat::new),
+    MS_EXCEL(new MsExcelFormat.Provider(Locale.US)),
+    CUSTOM(() -> new CustomFormat(',', '"'));
+
+    private final FormatProvider<?> provider;
+
+    Formats(FormatProvider<?> provider) {
+        this.provider = provider;
+    }
+
+    FormatProvider<?> getProvider() {
+        return provider;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import me.mneri.csv.exception.CsvException;
+import me.mneri.csv.option.CsvOptions;
+import me.mneri.csv.reader.LineParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Read a line whose second field is a JSON document of about a megabyte, full of escaped quotes, with every format.
+ * The time should grow linearly with the size of the document.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+public class JsonFieldBenchmark {
+    @Param
+    public Formats format;
+
+    @Param({"1048576"})
+    public int size;
+
+    private char[] data;
+    private CsvOptions options;
+    private LineParser parser;
+
+    @Setup
+    public void setUp() {
+        data = DataGenerator.generateJsonField("\r\n", size);
+        options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(data.length + 1);
+        parser = new LineParser(format.getProvider(), options);
+    }
+
+    @Benchmark
+    public Object parse() throws CsvException {
+        return parser.parse(data, 0, data.length).getCharSequence(1);
+    }
+
+    @Benchmark
+    public int read(Blackhole blackhole) throws CsvException, IOException {
+        return Workload.read(data, format.getProvider(), options, blackhole);
+    }
+}
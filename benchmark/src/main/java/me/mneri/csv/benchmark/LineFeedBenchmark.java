@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import me.mneri.csv.exception.CsvException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Read a few megabytes of LF-separated data end to end, with the formats that accept a bare line feed as line
+ * separator. RFC 4180 strict requires CRLF and is left out.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+public class LineFeedBenchmark {
+    @Param({"RFC4180_RELAXED", "RFC4180_HALF_RELAXED", "MACHINTOSH_STRICT", "MACHINTOSH_RELAXED", "MS_EXCEL",
+            "CUSTOM"})
+    public Formats format;
+
+    @Param
+    public Shape shape;
+
+    private char[] data;
+
+    @Setup
+    public void setUp() {
+        data = DataGenerator.generate(shape, "\n", Workload.SIZE);
+    }
+
+    @Benchmark
+    public int read(Blackhole blackhole) throws CsvException, IOException {
+        return Workload.read(data, format.getProvider(), blackhole);
+    }
+}
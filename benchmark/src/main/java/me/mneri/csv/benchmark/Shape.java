@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shapes of the synthetic data read by the benchmarks.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public enum Shape {
+    /**
+     * Few short, unquoted fields per line: identifiers, words, decimals and dates.
+     */
+    NARROW(6) {
+        @Override
+        void appendField(StringBuilder out, SplittableRandom random, int column) {
+            switch (column) {
+                case 0:
+                    out.append(random.nextInt(1_000_000));
+                    break;
+                case 1:
+                case 2:
+                    appendWord(out, random, LATIN, 3, 12);
+                    break;
+                case 3:
+                    out.append(random.nextInt(100_000)).append('.').append(random.nextInt(100));
+                    break;
+                case 4:
+                    out.append(2000 + random.nextInt(30)).append('-').append(10 + random.nextInt(3)).append('-')
+                            .append(10 + random.nextInt(19));
+                    break;
+                default:
+                    out.append(random.nextBoolean());
+            }
+        }
+    },
+
+    /**
+     * Many short, unquoted fields per line, some of them empty.
+     */
+    WIDE(64) {
+        @Override
+        void appendField(StringBuilder out, SplittableRandom random, int column) {
+            int kind = random.nextInt(4);
+            if (kind == 0) {
+                out.append(random.nextInt(10_000));
+            } else if (kind != 1) {
+                appendWord(out, random, LATIN, 1, 8);
+            }
+        }
+    },
+
+    /**
+     * Every field is quoted, and most of them contain escaped quotes, delimiters or line breaks.
+     */
+    QUOTED(8) {
+        @Override
+        void appendField(StringBuilder out, SplittableRandom random, int column) {
+            out.append('"');
+            appendWord(out, random, LATIN, 2, 8);
+            int words = 1 + random.nextInt(6);
+            for (int i = 0; i < words; i++) {
+                switch (random.nextInt(5)) {
+                    case 0:
+                        out.append(" \"\"");
+                        appendWord(out, random, LATIN, 2, 8);
+                        out.append("\"\"");
+                        break;
+                    case 1:
+                        out.append(", ");
+                        appendWord(out, random, LATIN, 2, 8);
+                        break;
+                    case 2:
+                        out.append("\r\n");
+                        appendWord(out, random, LATIN, 2, 8);
+                        break;
+                    default:
+                        out.append(' ');
+                        appendWord(out, random, LATIN, 2, 8);
+                }
+            }
+            out.append('"');
+        }
+    },
+
+    /**
+     * Few fields per line, one of which is several kilobytes of text.
+     */
+    LONG_FIELD(3) {
+        @Override
+        void appendField(StringBuilder out, SplittableRandom random, int column) {
+            if (column == 1) {
+                int length = 512 + random.nextInt(8192);
+                int start = out.length();
+                while (out.length() - start < length) {
+                    appendWord(out, random, LATIN, 1, 12);
+                    out.append(' ');
+                }
+            } else {
+                out.append(random.nextInt(1_000_000));
+            }
+        }
+    },
+
+    /**
+     * Few unquoted fields per line made of non-ASCII text, including characters outside of the Basic Multilingual
+     * Plane.
+     */
+    UNICODE(6) {
+        @Override
+        void appendField(StringBuilder out, SplittableRandom random, int column) {
+            appendWord(out, random, UNICODE_ALPHABETS[random.nextInt(UNICODE_ALPHABETS.length)], 2, 10);
+        }
+    };
+
+    private static final String LATIN = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private static final String[] UNICODE_ALPHABETS = {
+            // Latin-1
+            "\u00e0\u00e8\u00e9\u00ec\u00f2\u00f9\u00e4\u00f6\u00fc\u00df\u00e7\u00f1",
+            // Cyrillic
+            "\u0430\u0431\u0432\u0433\u0434\u0435\u0436\u0437\u0438\u043a\u043b\u043c",
+            // Greek
+            "\u03b1\u03b2\u03b3\u03b4\u03b5\u03b6\u03b7\u03b8\u03b9\u03ba\u03bb\u03bc",
+            // CJK
+            "\u65e5\u672c\u8a9e\u4e2d\u6587\u5b57\u6f22\u5b66\u6821\u96fb\u8eca\u99c5",
+            // Emoji, outside of the BMP
+            "\ud83d\ude00\ud83d\ude80\ud83c\udf55\ud83d\udc0d\ud83c\udf0d\ud83d\udcda"};
+
+    private final int columns;
+
+    Shape(int columns) {
+        this.columns = columns;
+    }
+
+    abstract void appendField(StringBuilder out, SplittableRandom random, int column);
+
+    private static void appendWord(StringBuilder out, SplittableRandom random, String alphabet, int min, int max) {
+        int codePoints = alphabet.codePointCount(0, alphabet.length());
+        int length = min + random.nextInt(max - min + 1);
+        for (int i = 0; i < length; i++) {
+            out.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0, random.nextInt(codePoints))));
+        }
+    }
+
+    int getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,39 @@
+package me.mneri.csv.benchmark;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+
+import me.mneri.csv.exception.CsvException;
+import me.mneri.csv.format.FormatProvider;
+import me.mneri.csv.option.CsvOptions;
+import me.mneri.csv.reader.CsvReader;
+import org.openjdk.jmh.infra.Blackhole;
+
+final class Workload {
+    static final int SIZE = 4 << 20;
+
+    private Workload() {
+    }
+
+    static int read(char[] data, FormatProvider<?> provider, Blackhole blackhole) throws CsvException, IOException {
+        return read(data, provider, CsvOptions.defaultOptions(), blackhole);
+    }
+
+    static int read(char[] data, FormatProvider<?> provider, CsvOptions options, Blackhole blackhole)
+            throws CsvException, IOException {
+        int lines = 0;
+        try (CsvReader<Object> reader = CsvReader.open(new CharArrayReader(data), provider, options, line -> {
+            int count = line.getFieldCount();
+            for (int i = 0; i < count; i++) {
+                blackhole.consume(line.getString(i));
+            }
+            return line;
+        })) {
+            while (reader.hasNext()) {
+                reader.next();
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
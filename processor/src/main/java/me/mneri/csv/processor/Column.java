@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.processor;
+
+import javax.lang.model.element.VariableElement;
+
+/**
+ * A field of a {@link me.mneri.csv.annotation.CsvRecord} mapped to a column.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class Column {
+    private final VariableElement field;
+    private final String format;
+    private final String getter;
+    private final int index;
+    private final String name;
+    private final String setter;
+    private final ColumnType type;
+
+    Column(VariableElement field, ColumnType type, int index, String name, String format, String setter, String getter) {
+        this.field = field;
+        this.type = type;
+        this.index = index;
+        this.name = name;
+        this.format = format;
+        this.setter = setter;
+        this.getter = getter;
+    }
+
+    String getFieldType() {
+        return field.asType().toString();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ColumnType getType() {
+        return type;
+    }
+
+    /**
+     * Return the statement assigning the value of the column to the field of a record.
+     *
+     * @param record The name of the record variable.
+     * @param i      The expression of the index of the column.
+     * @param mapper The name of the token mapper of an enum column, or {@code null}.
+     * @return The statement.
+     */
+    String read(String record, String i, String mapper) {
+        String value = type.read(field.asType(), i, format, mapper);
+        if (setter == null) {
+            return record + "." + field.getSimpleName() + " = " + value + ";";
+        }
+        return record + "." + setter + "(" + value + ");";
+    }
+
+    /**
+     * Return the statements adding the value of the field of a record to the output list.
+     *
+     * @param record The name of the record variable.
+     * @param local  The name of a local variable the statements can declare.
+     * @return The statements.
+     */
+    String[] write(String record, String local) {
+        String value = getter == null ? record + "." + field.getSimpleName() : record + "." + getter + "()";
+        if (type == ColumnType.STRING) {
+            return new String[]{"out.add(" + value + ");"};
+        }
+        if (field.asType().getKind().isPrimitive()) {
+            return new String[]{"out.add(" + type.write(value, format) + ");"};
+        }
+        return new String[]{
+                field.asType() + " " + local + " = " + value + ";",
+                "out.add(" + local + " == null ? null : " + type.write(local, format) + ");"};
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The types of field supported by {@link CsvRecordProcessor}, with the code used to read and write them.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+enum ColumnType {
+    //@formatter:off
+    STRING     ("getString",     false),
+    BOOLEAN    ("getBoolean",    false),
+    SHORT      ("getShort",      true),
+    INTEGER    ("getInteger",    true),
+    LONG       ("getLong",       true),
+    FLOAT      ("getFloat",      false),
+    DOUBLE     ("getDouble",     false),
+    BIG_DECIMAL("getBigDecimal", false),
+    BIG_INTEGER("getBigInteger", true),
+    ENUM       ("getEnum",       false);
+    //@formatter:on
+
+    private final String getter;
+    private final boolean radix;
+
+    ColumnType(String getter, boolean radix) {
+        this.getter = getter;
+        this.radix = radix;
+    }
+
+    /**
+     * Return the column type of the specified field type.
+     *
+     * @param type The type of the field.
+     * @return The column type, or {@code null} if the type is not supported.
+     */
+    static ColumnType of(TypeMirror type) {
+        //@formatter:off
+        switch (type.getKind()) {
+            case BOOLEAN: return BOOLEAN;
+            case SHORT:   return SHORT;
+            case INT:     return INTEGER;
+            case LONG:    return LONG;
+            case FLOAT:   return FLOAT;
+            case DOUBLE:  return DOUBLE;
+            case DECLARED: break;
+            default:      return null;
+        }
+        //@formatter:on
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return ENUM;
+        }
+        //@formatter:off
+        switch (type.toString()) {
+            case "java.lang.String":     return STRING;
+            case "java.lang.Boolean":    return BOOLEAN;
+            case "java.lang.Short":      return SHORT;
+            case "java.lang.Integer":    return INTEGER;
+            case "java.lang.Long":       return LONG;
+            case "java.lang.Float":      return FLOAT;
+            case "java.lang.Double":     return DOUBLE;
+            case "java.math.BigDecimal": return BIG_DECIMAL;
+            case "java.math.BigInteger": return BIG_INTEGER;
+            default:                     return null;
+        }
+        //@formatter:on
+    }
+
+    /**
+     * Return {@code true} if the format of this type is a radix.
+     *
+     * @return {@code true} if the format is a radix.
+     */
+    boolean isRadix() {
+        return radix;
+    }
+
+    /**
+     * Return the expression reading a value of this type from a line. Primitive fields are read without boxing.
+     *
+     * @param type   The type of the field.
+     * @param index  The expression of the index of the column.
+     * @param format The format, or the empty string.
+     * @param mapper The name of the {@link me.mneri.csv.reader.TokenMapper} of the enum constants, or {@code null}.
+     * @return The expression.
+     */
+    String read(TypeMirror type, String index, String format, String mapper) {
+        if (this == ENUM) {
+            return "line.getEnum(" + index + ", " + mapper + ")";
+        }
+        String radixArgument = radix && !format.isEmpty() ? ", " + format : "";
+        if (type.getKind().isPrimitive()) {
+            //@formatter:off
+            switch (this) {
+                case BOOLEAN: return "line.getBoolean(" + index + ").booleanValue()";
+                case SHORT:   return "java.lang.Short.parseShort(line.getString(" + index + ")" + radixArgument + ")";
+                case INTEGER: return "java.lang.Integer.parseInt(line.getString(" + index + ")" + radixArgument + ")";
+                case LONG:    return "java.lang.Long.parseLong(line.getString(" + index + ")" + radixArgument + ")";
+                case FLOAT:   return "line.getFloatValue(" + index + ")";
+                case DOUBLE:  return "line.getDoubleValue(" + index + ")";
+                default:      throw new AssertionError(this);
+            }
+            //@formatter:on
+        }
+        return "line." + getter + "(" + index + radixArgument + ")";
+    }
+
+    /**
+     * Return the expression converting a non-null value of this type into a string.
+     *
+     * @param value  The expression of the value.
+     * @param format The format, or the empty string.
+     * @return The expression.
+     */
+    String write(String value, String format) {
+        if (this == ENUM) {
+            return value + ".name()";
+        }
+        if (radix && !format.isEmpty()) {
+            //@formatter:off
+            switch (this) {
+                case LONG:        return "java.lang.Long.toString(" + value + ", " + format + ")";
+                case BIG_INTEGER: return value + ".toString(" + format + ")";
+                default:          return "java.lang.Integer.toString(" + value + ", " + format + ")";
+            }
+            //@formatter:on
+        }
+        return "java.lang.String.valueOf(" + value + ")";
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import me.mneri.csv.annotation.CsvColumn;
+import me.mneri.csv.annotation.CsvRecord;
+
+/**
+ * Generate a {@link me.mneri.csv.deserializer.Deserializer} and a {@link me.mneri.csv.serializer.CsvSerializer} for
+ * each class annotated with {@link CsvRecord}.
+ * <p>
+ * The generated classes are placed in the package of the record and named after it, with the {@code CsvDeserializer}
+ * and {@code CsvSerializer} suffixes; the names of nested classes are joined with an underscore. The generated code
+ * is a straight sequence of calls to the getters of {@link me.mneri.csv.reader.RecycledLine} and to the accessors of
+ * the record.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+@SupportedAnnotationTypes({"me.mneri.csv.annotation.CsvRecord", "me.mneri.csv.annotation.CsvColumn"})
+public class CsvRecordProcessor extends AbstractProcessor {
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CsvColumn.class)) {
+            if (element.getEnclosingElement().getAnnotation(CsvRecord.class) == null) {
+                error(element, "@CsvColumn can only be applied to fields of @CsvRecord classes.");
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CsvRecord.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(element, "@CsvRecord can only be applied to concrete classes.");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+                error(type, "@CsvRecord can't be applied to inner classes, make the class static.");
+                continue;
+            }
+            if (!hasDefaultConstructor(type)) {
+                error(type, "@CsvRecord classes must have a non-private constructor without arguments.");
+                continue;
+            }
+            List<Column> columns = columnsOf(type);
+            if (columns == null) {
+                continue;
+            }
+            try {
+                writeDeserializer(type, columns);
+                writeSerializer(type, columns);
+            } catch (IOException e) {
+                error(type, "Can't write the generated classes: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private List<Column> columnsOf(TypeElement type) {
+        List<Column> columns = new ArrayList<>();
+        Set<Integer> indexes = new HashSet<>();
+        boolean valid = true;
+        int position = 0;
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            CsvColumn annotation = field.getAnnotation(CsvColumn.class);
+            if (annotation == null) {
+                continue;
+            }
+            int index = annotation.index() >= 0 ? annotation.index() : position;
+            position++;
+
+            ColumnType columnType = ColumnType.of(field.asType());
+            if (columnType == null) {
+                error(field, "Unsupported column type: " + field.asType() + ".");
+                valid = false;
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "@CsvColumn can't be applied to static or final fields.");
+                valid = false;
+                continue;
+            }
+            if (!indexes.add(index)) {
+                error(field, "Duplicate column index: " + index + ".");
+                valid = false;
+                continue;
+            }
+            String format = annotation.format();
+            if (!format.isEmpty() && !isValidFormat(columnType, format)) {
+                error(field, "Invalid format for " + field.asType() + ": " + format + ".");
+                valid = false;
+                continue;
+            }
+            String setter = null;
+            String getter = null;
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                setter = findAccessor(type, field, "set");
+                getter = findAccessor(type, field, field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get");
+                if (getter == null) {
+                    getter = findAccessor(type, field, "get");
+                }
+                if (setter == null || getter == null) {
+                    error(field, "Private @CsvColumn fields must have a non-private setter and getter.");
+                    valid = false;
+                    continue;
+                }
+            }
+            columns.add(new Column(field, columnType, index, annotation.name(), format, setter, getter));
+        }
+
+        return valid ? columns : null;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private String findAccessor(TypeElement type, VariableElement field, String prefix) {
+        String name = field.getSimpleName().toString();
+        String accessor = prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        boolean setter = prefix.equals("set");
+
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getSimpleName().contentEquals(accessor) || method.getModifiers().contains(Modifier.PRIVATE)
+                    || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (setter && method.getParameters().size() == 1 && processingEnv.getTypeUtils()
+                    .isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return accessor;
+            }
+            if (!setter && method.getParameters().isEmpty() && processingEnv.getTypeUtils()
+                    .isSameType(method.getReturnType(), field.asType())) {
+                return accessor;
+            }
+        }
+
+        return null;
+    }
+
+    private static String generatedName(TypeElement type, String suffix) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            name.insert(0, '_').insert(0, e.getSimpleName());
+        }
+        return name.append(suffix).toString();
+    }
+
+    private static boolean hasDefaultConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isValidFormat(ColumnType type, String format) {
+        if (!type.isRadix()) {
+            return false;
+        }
+        try {
+            int radix = Integer.parseInt(format);
+            return radix >= Character.MIN_RADIX && radix <= Character.MAX_RADIX;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private PrintWriter openSource(TypeElement type, String name) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String qualifiedName = pkg.isUnnamed() ? name : pkg.getQualifiedName() + "." + name;
+        PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter());
+        if (!pkg.isUnnamed()) {
+            out.println("package " + pkg.getQualifiedName() + ";");
+            out.println();
+        }
+        return out;
+    }
+
+    private void writeDeserializer(TypeElement type, List<Column> columns) throws IOException {
+        String name = generatedName(type, "CsvDeserializer");
+        String record = type.getQualifiedName().toString();
+
+        try (PrintWriter out = openSource(type, name)) {
+            out.println("/**");
+            out.println(" * Deserializer of {@link " + record + "}, generated by {@code CsvRecordProcessor}.");
+            out.println(" */");
+            out.println("public final class " + name + " implements me.mneri.csv.deserializer.Deserializer<" + record
+                    + "> {");
+            for (int i = 0; i < columns.size(); i++) {
+                if (!columns.get(i).getName().isEmpty()) {
+                    out.println("    private static final me.mneri.csv.reader.ColumnRef COLUMN_" + i
+                            + " = me.mneri.csv.reader.ColumnRef.of("
+                            + processingEnv.getElementUtils().getConstantExpression(columns.get(i).getName()) + ");");
+                }
+                if (columns.get(i).getType() == ColumnType.ENUM) {
+                    String enumType = columns.get(i).getFieldType();
+                    out.println("    private static final me.mneri.csv.reader.TokenMapper<" + enumType + "> MAPPER_" + i
+                            + " = me.mneri.csv.reader.TokenMapper.ofEnum(" + enumType + ".class);");
+                }
+            }
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + record + " deserialize(me.mneri.csv.reader.RecycledLine line) {");
+            out.println("        " + record + " record = new " + record + "();");
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                String index = column.getName().isEmpty() ? String.valueOf(column.getIndex())
+                        : "line.indexOf(COLUMN_" + i + ")";
+                String mapper = column.getType() == ColumnType.ENUM ? "MAPPER_" + i : null;
+                out.println("        " + column.read("record", index, mapper));
+            }
+            out.println("        return record;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeSerializer(TypeElement type, List<Column> columns) throws IOException {
+        String name = generatedName(type, "CsvSerializer");
+        String record = type.getQualifiedName().toString();
+        List<Column> sorted = new ArrayList<>(columns);
+        sorted.sort(Comparator.comparingInt(Column::getIndex));
+
+        try (PrintWriter out = openSource(type, name)) {
+            out.println("/**");
+            out.println(" * Serializer of {@link " + record + "}, generated by {@code CsvRecordProcessor}.");
+            out.println(" */");
+            out.println("public final class " + name + " implements me.mneri.csv.serializer.CsvSerializer<" + record
+                    + "> {");
+            out.println("    @Override");
+            out.println("    public void serialize(" + record + " record, java.util.List<java.lang.String> out) {");
+            int next = 0;
+            for (Column column : sorted) {
+                for (; next < column.getIndex(); next++) {
+                    out.println("        out.add(null);");
+                }
+                for (String statement : column.write("record", "value" + next)) {
+                    out.println("        " + statement);
+                }
+                next++;
+            }
+            out.println("    }");
+            out.println("}");
+        }
+    }
+}
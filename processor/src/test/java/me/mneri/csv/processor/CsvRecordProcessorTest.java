@@ -0,0 +1,161 @@
+package me.mneri.csv.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.reader.CsvReader;
+import me.mneri.csv.serializer.CsvSerializer;
+import me.mneri.csv.writer.CsvWriter;
+import me.mneri.csv.writer.DefaultCsvWriterFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvRecordProcessorTest {
+    private static final String TRADE = String.join("\n",
+            "package sample;",
+            "",
+            "import me.mneri.csv.annotation.CsvColumn;",
+            "import me.mneri.csv.annotation.CsvRecord;",
+            "",
+            "@CsvRecord",
+            "public class Trade {",
+            "    public enum Side { BUY, SELL }",
+            "",
+            "    @CsvColumn String symbol;",
+            "    @CsvColumn int quantity;",
+            "    @CsvColumn(format = \"16\") long id;",
+            "    @CsvColumn short venue;",
+            "    @CsvColumn double price;",
+            "    @CsvColumn float fee;",
+            "    @CsvColumn boolean settled;",
+            "    @CsvColumn Side side;",
+            "    @CsvColumn java.math.BigDecimal notional;",
+            "    @CsvColumn private Integer lots;",
+            "",
+            "    public Integer getLots() { return lots; }",
+            "    public void setLots(Integer lots) { this.lots = lots; }",
+            "",
+            "    @Override",
+            "    public String toString() {",
+            "        return symbol + '|' + quantity + '|' + id + '|' + venue + '|' + price + '|' + fee + '|' + settled",
+            "                + '|' + side + '|' + notional + '|' + lots;",
+            "    }",
+            "}");
+
+    private static final String ORPHAN = String.join("\n",
+            "package sample;",
+            "",
+            "public class Orphan {",
+            "    @me.mneri.csv.annotation.CsvColumn String name;",
+            "}");
+
+    private static JavaFileObject source(String name, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///sample/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static boolean compile(Path output, DiagnosticCollector<JavaFileObject> diagnostics,
+                                   JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = Arrays.asList("-d", output.toString(), "-classpath",
+                    System.getProperty("java.class.path"), "-s", output.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null,
+                    Arrays.asList(sources));
+            task.setProcessors(Arrays.asList(new CsvRecordProcessor()));
+            return task.call();
+        }
+    }
+
+    private static void set(Object object, String field, Object value) throws ReflectiveOperationException {
+        java.lang.reflect.Field f = object.getClass().getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(object, value);
+    }
+
+    @Test
+    @DisplayName("Compile an annotated record, verify the generated serializer and deserializer round-trip it.")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void roundTrip() throws Exception {
+        Path output = Files.createTempDirectory("processor");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(compile(output, diagnostics, source("Trade", TRADE)), diagnostics.getDiagnostics().toString());
+
+        String generated = new String(Files.readAllBytes(output.resolve("sample/TradeCsvDeserializer.java")), "UTF-8");
+        assertTrue(generated.contains("TokenMapper.ofEnum(sample.Trade.Side.class)"), generated);
+        assertTrue(generated.contains("line.getDoubleValue(4)"), generated);
+        assertFalse(generated.contains("valueOf"), generated);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("sample.Trade");
+            Object trade = type.getDeclaredConstructor().newInstance();
+            set(trade, "symbol", "ACME");
+            set(trade, "quantity", 150);
+            set(trade, "id", 0xCAFEL);
+            set(trade, "venue", (short) 7);
+            set(trade, "price", 12.75);
+            set(trade, "fee", 0.5f);
+            set(trade, "settled", true);
+            set(trade, "side", type.getClassLoader().loadClass("sample.Trade$Side").getEnumConstants()[1]);
+            set(trade, "notional", new java.math.BigDecimal("1912.50"));
+            set(trade, "lots", 3);
+
+            CsvSerializer serializer = (CsvSerializer) loader.loadClass("sample.TradeCsvSerializer")
+                    .getDeclaredConstructor().newInstance();
+            Deserializer deserializer = (Deserializer) loader.loadClass("sample.TradeCsvDeserializer")
+                    .getDeclaredConstructor().newInstance();
+
+            StringWriter csv = new StringWriter();
+            try (CsvWriter writer = new DefaultCsvWriterFactory().open(csv, serializer)) {
+                writer.write(trade);
+            }
+            assertEquals("ACME,150,cafe,7,12.75,0.5,true,SELL,1912.50,3\r\n", csv.toString());
+
+            try (CsvReader<?> reader = CsvReader.open(new StringReader(csv.toString()),
+                    new Rfc4180StrictFormat.Provider(), deserializer)) {
+                assertEquals(trade.toString(), reader.next().toString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Annotate a field of a class that is not a record, verify the processor reports an error.")
+    public void columnOutsideRecord() throws Exception {
+        Path output = Files.createTempDirectory("processor");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(output, diagnostics, source("Orphan", ORPHAN)));
+        boolean reported = false;
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            reported |= diagnostic.getKind() == Diagnostic.Kind.ERROR
+                    && diagnostic.getMessage(null).contains("@CsvRecord classes");
+        }
+        assertTrue(reported, diagnostics.getDiagnostics().toString());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Map a field of a {@link CsvRecord} to a column.
+ * <p>
+ * A column is read by name when {@link CsvColumn#name()} is specified, and by index otherwise. Reading by name
+ * requires the header of the file to be read first with {@link me.mneri.csv.reader.CsvReader#readHeader()}. Columns
+ * are always written in index order; when {@link CsvColumn#index()} is not specified, the index is the position of the
+ * field among the annotated fields of the class.
+ * <p>
+ * Supported field types are {@link String}, primitive numbers and their wrappers, {@code boolean},
+ * {@link java.math.BigDecimal}, {@link java.math.BigInteger} and enums.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface CsvColumn {
+    /**
+     * The index of the column.
+     *
+     * @return The index of the column, or {@code -1} to use the position of the field.
+     */
+    int index() default -1;
+
+    /**
+     * The name of the column in the header.
+     *
+     * @return The name of the column, or the empty string to read the column by index.
+     */
+    String name() default "";
+
+    /**
+     * The format of the values. For integral types, it is the radix of the number.
+     *
+     * @return The format, or the empty string for the default format.
+     */
+    String format() default "";
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a class whose instances are read from and written to csv lines. At build time, the annotation processor of the
+ * {@code processor} module generates a {@link me.mneri.csv.deserializer.Deserializer} and a
+ * {@link me.mneri.csv.serializer.CsvSerializer} for the class, named after the class with the {@code CsvDeserializer}
+ * and {@code CsvSerializer} suffixes. The generated code calls the getters of
+ * {@link me.mneri.csv.reader.RecycledLine} directly and doesn't use reflection.
+ * <p>
+ * The class must have a non-private constructor without arguments. Only the fields annotated with {@link CsvColumn}
+ * are mapped; non-private fields are accessed directly, private fields through their setter and getter.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see CsvColumn
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CsvRecord {
+}
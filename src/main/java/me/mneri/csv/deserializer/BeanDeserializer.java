@@ -0,0 +1,602 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.deserializer;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import me.mneri.csv.reader.RecycledLine;
+import me.mneri.csv.reader.TokenMapper;
+
+/**
+ * A {@link Deserializer} that binds the columns of a csv line to the properties of a class at runtime, for the classes
+ * which can't be annotated with {@link me.mneri.csv.annotation.CsvRecord}.
+ * <p>
+ * If the class has a public no-argument constructor, the objects are created through it and the columns are assigned
+ * through the public setters of the properties ({@code setName} for the property {@code name}). Otherwise the objects
+ * are created through the public constructor with as many parameters as the mapped properties: the parameters are
+ * matched by name if the class was compiled with {@code -parameters}, by position otherwise.
+ * <p>
+ * Setters are turned into lambdas through {@link LambdaMetafactory} the first time they are used and cached per class,
+ * and constructors into a method handle reading each argument from the line, so that after warm-up they are invoked as
+ * ordinary method calls rather than through reflection. Primitive properties are read and assigned without boxing. The
+ * supported property types are {@link String}, the primitive types with the exception of {@code byte} and
+ * {@code char}, their wrappers, {@link BigInteger}, {@link BigDecimal} and the enum types. Empty fields leave primitive
+ * properties to their default value.
+ * <p>
+ * Example:
+ * <pre>
+ * Deserializer&lt;Person&gt; deserializer = BeanDeserializer.of(Person.class, "name", null, "age");
+ * </pre>
+ *
+ * @param <T> the type of the objects.
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class BeanDeserializer<T> implements Deserializer<T> {
+    private static final ClassValue<Binding> BINDINGS = new ClassValue<Binding>() {
+        @Override
+        protected Binding computeValue(Class<?> type) {
+            return new Binding(type);
+        }
+    };
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Map<Class<?>, Reader> READERS = new HashMap<>();
+    private static final Map<Class<?>, String> PRIMITIVE_READERS = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> SETTERS = new HashMap<>();
+
+    static {
+        //@formatter:off
+        READERS.put(BigDecimal.class, RecycledLine::getBigDecimal);
+        READERS.put(BigInteger.class, RecycledLine::getBigInteger);
+        READERS.put(Boolean.class,    RecycledLine::getBoolean);
+        READERS.put(Double.class,     RecycledLine::getDouble);
+        READERS.put(Float.class,      RecycledLine::getFloat);
+        READERS.put(Integer.class,    RecycledLine::getInteger);
+        READERS.put(Long.class,       RecycledLine::getLong);
+        READERS.put(Short.class,      RecycledLine::getShort);
+
+        PRIMITIVE_READERS.put(boolean.class, "readBoolean");
+        PRIMITIVE_READERS.put(double.class,  "readDouble");
+        PRIMITIVE_READERS.put(float.class,   "readFloat");
+        PRIMITIVE_READERS.put(int.class,     "readInt");
+        PRIMITIVE_READERS.put(long.class,    "readLong");
+        PRIMITIVE_READERS.put(short.class,   "readShort");
+
+        SETTERS.put(boolean.class, BooleanSetter.class);
+        SETTERS.put(double.class,  DoubleSetter.class);
+        SETTERS.put(float.class,   FloatSetter.class);
+        SETTERS.put(int.class,     IntSetter.class);
+        SETTERS.put(long.class,    LongSetter.class);
+        SETTERS.put(short.class,   ShortSetter.class);
+        //@formatter:on
+    }
+
+    private final Binder[] binders;
+    private final MethodHandle instantiator;
+    private final Supplier supplier;
+    private final Class<T> type;
+
+    private BeanDeserializer(Class<T> type, String[] properties) {
+        Binding binding = BINDINGS.get(type);
+        int columns = properties.length;
+        this.type = type;
+        supplier = binding.supplier();
+
+        if (supplier != null) {
+            binders = new Binder[columns];
+            for (int i = 0; i < columns; i++) {
+                if (properties[i] != null) {
+                    Method method = binding.method(properties[i]);
+                    binders[i] = binder(method.getParameterTypes()[0], binding.setter(method));
+                }
+            }
+            instantiator = null;
+        } else {
+            Constructor<?> constructor = binding.constructor(properties);
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Parameter[] parameters = constructor.getParameters();
+            boolean named = parameters.length > 0 && parameters[0].isNamePresent();
+            // Each argument is read from the line by its own handle: no array of arguments is created per line.
+            MethodHandle[] readers = new MethodHandle[parameters.length];
+            for (int i = 0, j = 0; i < columns; i++) {
+                if (properties[i] != null) {
+                    int k = named ? indexOf(parameters, properties[i]) : j++;
+                    readers[k] = reader(parameterTypes[k], i);
+                }
+            }
+            instantiator = binding.instantiator(constructor, readers);
+            binders = null;
+        }
+    }
+
+    private static Binder binder(Class<?> type, Object setter) {
+        //@formatter:off
+        switch (type.getName()) {
+            case "boolean": return bindBoolean((BooleanSetter) setter);
+            case "double":  return bindDouble((DoubleSetter) setter);
+            case "float":   return bindFloat((FloatSetter) setter);
+            case "int":     return bindInt((IntSetter) setter);
+            case "long":    return bindLong((LongSetter) setter);
+            case "short":   return bindShort((ShortSetter) setter);
+            default:        return bindObject(objectReader(type), (Setter) setter);
+        }
+        //@formatter:on
+    }
+
+    private static Binder bindBoolean(BooleanSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getBoolean(i));
+            }
+        };
+    }
+
+    private static Binder bindDouble(DoubleSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getDoubleValue(i));
+            }
+        };
+    }
+
+    private static Binder bindFloat(FloatSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getFloatValue(i));
+            }
+        };
+    }
+
+    private static Binder bindInt(IntSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getIntValue(i));
+            }
+        };
+    }
+
+    private static Binder bindLong(LongSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getLongValue(i));
+            }
+        };
+    }
+
+    private static Binder bindObject(Reader reader, Setter setter) {
+        return (object, line, i) -> setter.set(object, reader.read(line, i));
+    }
+
+    private static Binder bindShort(ShortSetter setter) {
+        return (object, line, i) -> {
+            if (line.getLength(i) != 0) {
+                setter.set(object, line.getShortValue(i));
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(RecycledLine line) throws Exception {
+        if (supplier == null) {
+            try {
+                Object object = (Object) instantiator.invokeExact(line);
+                return (T) object;
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        Object object = supplier.get();
+        int count = Math.min(line.getFieldCount(), binders.length);
+        for (int i = 0; i < count; i++) {
+            Binder binder = binders[i];
+            if (binder != null) {
+                binder.bind(object, line, i);
+            }
+        }
+        return (T) object;
+    }
+
+    /**
+     * Return the type of the objects.
+     *
+     * @return The type of the objects.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    private static int indexOf(Parameter[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No such constructor parameter: " + name);
+    }
+
+    private static boolean isMissing(RecycledLine line, int i) {
+        return i >= line.getFieldCount() || line.getLength(i) == 0;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, BeanDeserializer.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return a new deserializer for the specified class. The i-th property name is assigned the value of the i-th
+     * column; {@code null} names skip the corresponding columns.
+     *
+     * @param type       The class of the objects.
+     * @param properties The names of the properties, in column order.
+     * @param <T>        The type of the objects.
+     * @return A new deserializer.
+     * @throws IllegalArgumentException if the class isn't public, doesn't have a suitable public constructor or setter,
+     *                                  or if a property has an unsupported type.
+     */
+    public static <T> BeanDeserializer<T> of(Class<T> type, String... properties) {
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("Not a public concrete class: " + type.getName());
+        }
+        return new BeanDeserializer<>(type, properties.clone());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Reader objectReader(Class<?> type) {
+        if (type == String.class) {
+            return RecycledLine::getString;
+        }
+        Reader reader = READERS.get(type);
+        if (reader == null) {
+            if (!type.isEnum()) {
+                throw new IllegalArgumentException("Unsupported property type: " + type.getName());
+            }
+            TokenMapper mapper = TokenMapper.ofEnum((Class) type);
+            reader = (line, i) -> line.getEnum(i, mapper);
+        }
+        Reader delegate = reader;
+        // Empty fields are missing values for any type other than String.
+        return (line, i) -> line.getLength(i) == 0 ? null : delegate.read(line, i);
+    }
+
+    /**
+     * Return a handle reading the argument of the specified type from the specified column of a line. Columns that the
+     * line doesn't have are missing values, like empty fields.
+     *
+     * @param type   The type of the argument.
+     * @param column The index of the column.
+     * @return A handle of type {@code (RecycledLine)type}.
+     */
+    private static MethodHandle reader(Class<?> type, int column) {
+        try {
+            String name = PRIMITIVE_READERS.get(type);
+            MethodHandle handle;
+            if (name != null) {
+                handle = LOOKUP.findStatic(BeanDeserializer.class, name,
+                        MethodType.methodType(type, RecycledLine.class, int.class));
+            } else {
+                handle = LOOKUP.findStatic(BeanDeserializer.class, "readObject",
+                        MethodType.methodType(Object.class, Reader.class, RecycledLine.class, int.class));
+                handle = MethodHandles.insertArguments(handle, 0, objectReader(type));
+            }
+            return MethodHandles.insertArguments(handle, 1, column)
+                                .asType(MethodType.methodType(type, RecycledLine.class));
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static boolean readBoolean(RecycledLine line, int i) {
+        return !isMissing(line, i) && line.getBoolean(i);
+    }
+
+    private static double readDouble(RecycledLine line, int i) {
+        return isMissing(line, i) ? 0.0 : line.getDoubleValue(i);
+    }
+
+    private static float readFloat(RecycledLine line, int i) {
+        return isMissing(line, i) ? 0.0f : line.getFloatValue(i);
+    }
+
+    private static int readInt(RecycledLine line, int i) {
+        return isMissing(line, i) ? 0 : line.getIntValue(i);
+    }
+
+    private static long readLong(RecycledLine line, int i) {
+        return isMissing(line, i) ? 0L : line.getLongValue(i);
+    }
+
+    private static Object readObject(Reader reader, RecycledLine line, int i) {
+        return i >= line.getFieldCount() ? null : reader.read(line, i);
+    }
+
+    private static short readShort(RecycledLine line, int i) {
+        return isMissing(line, i) ? 0 : line.getShortValue(i);
+    }
+
+    private static Exception rethrow(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return (Exception) t;
+    }
+
+    /**
+     * The constructors and the setters of a class. Lambdas are spun the first time they are requested and shared by
+     * all the deserializers of the class.
+     */
+    private static final class Binding {
+        private final Map<String, List<Method>> methods = new HashMap<>();
+        private final ConcurrentMap<Method, Object> setters = new ConcurrentHashMap<>();
+        private volatile Supplier supplier;
+        private final Class<?> type;
+        private final boolean visible;
+
+        Binding(Class<?> type) {
+            this.type = type;
+            visible = isVisible(type);
+            for (Method method : type.getMethods()) {
+                String name = method.getName();
+                if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1 && !method.isBridge()
+                        && name.length() > 3 && name.startsWith("set")) {
+                    String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                    methods.computeIfAbsent(property, k -> new ArrayList<>()).add(method);
+                }
+            }
+        }
+
+        Constructor<?> constructor(String[] properties) {
+            long arity = Arrays.stream(properties).filter(p -> p != null).count();
+            Constructor<?> found = null;
+            for (Constructor<?> constructor : type.getConstructors()) {
+                if (constructor.getParameterCount() == arity) {
+                    if (found != null) {
+                        throw new IllegalArgumentException("Ambiguous constructor: " + type.getName());
+                    }
+                    found = constructor;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("No constructor with " + arity + " parameters: " + type.getName());
+            }
+            return found;
+        }
+
+        /**
+         * Return a handle of type {@code (RecycledLine)Object} creating an object through the specified constructor,
+         * with each argument read from the line by the corresponding reader.
+         */
+        MethodHandle instantiator(Constructor<?> constructor, MethodHandle[] readers) {
+            try {
+                MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+                handle = MethodHandles.filterArguments(handle, 0, readers);
+                return MethodHandles.permuteArguments(handle.asType(handle.type().changeReturnType(Object.class)),
+                        MethodType.methodType(Object.class, RecycledLine.class), new int[readers.length]);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        Method method(String property) {
+            List<Method> candidates = methods.get(property);
+            if (candidates == null) {
+                throw new IllegalArgumentException("No such property: " + property);
+            }
+            if (candidates.size() > 1) {
+                throw new IllegalArgumentException("Ambiguous setter: " + property);
+            }
+            return candidates.get(0);
+        }
+
+        /**
+         * Return the setter of the specified method: a {@link Setter} for reference properties, or the setter interface
+         * of the primitive type, so that primitive values are never boxed.
+         */
+        Object setter(Method method) {
+            return setters.computeIfAbsent(method, m -> {
+                Class<?> parameter = m.getParameterTypes()[0];
+                Class<?> setter = SETTERS.getOrDefault(parameter, Setter.class);
+                MethodType erased = MethodType.methodType(void.class, Object.class,
+                        parameter.isPrimitive() ? parameter : Object.class);
+                try {
+                    MethodHandle handle = LOOKUP.unreflect(m);
+                    if (visible && isVisible(parameter)) {
+                        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "set", MethodType.methodType(setter),
+                                erased, handle, MethodType.methodType(void.class, type, parameter));
+                        return site.getTarget().invoke();
+                    }
+                    // The class can't be linked from the lambda, fall back to a method handle.
+                    return genericSetter(parameter, handle.asType(erased));
+                } catch (Throwable t) {
+                    throw new IllegalArgumentException("Cannot access setter: " + m, t);
+                }
+            });
+        }
+
+        Supplier supplier() {
+            Supplier result = supplier;
+            if (result == null) {
+                Constructor<?> constructor;
+                try {
+                    constructor = type.getConstructor();
+                } catch (NoSuchMethodException e) {
+                    return null;
+                }
+                try {
+                    MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+                    if (visible) {
+                        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                                MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+                                MethodType.methodType(type));
+                        result = (Supplier) site.getTarget().invokeExact();
+                    } else {
+                        MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+                        result = () -> {
+                            try {
+                                return generic.invokeExact();
+                            } catch (Throwable t) {
+                                throw rethrow(t);
+                            }
+                        };
+                    }
+                } catch (Throwable t) {
+                    throw new IllegalArgumentException("Cannot access constructor: " + constructor, t);
+                }
+                supplier = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Return a setter invoking the specified handle, of type {@code (Object, type)void}, with the exact type of the
+     * property: primitive values are not boxed.
+     */
+    private static Object genericSetter(Class<?> type, MethodHandle handle) {
+        switch (type.getName()) {
+            case "boolean":
+                return (BooleanSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            case "double":
+                return (DoubleSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            case "float":
+                return (FloatSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            case "int":
+                return (IntSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            case "long":
+                return (LongSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            case "short":
+                return (ShortSetter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+            default:
+                return (Setter) (object, value) -> {
+                    try {
+                        handle.invokeExact(object, value);
+                    } catch (Throwable t) {
+                        throw rethrow(t);
+                    }
+                };
+        }
+    }
+
+    interface Binder {
+        void bind(Object object, RecycledLine line, int i) throws Exception;
+    }
+
+    interface BooleanSetter {
+        void set(Object object, boolean value) throws Exception;
+    }
+
+    interface DoubleSetter {
+        void set(Object object, double value) throws Exception;
+    }
+
+    interface FloatSetter {
+        void set(Object object, float value) throws Exception;
+    }
+
+    interface IntSetter {
+        void set(Object object, int value) throws Exception;
+    }
+
+    interface LongSetter {
+        void set(Object object, long value) throws Exception;
+    }
+
+    interface Reader {
+        Object read(RecycledLine line, int i);
+    }
+
+    interface Setter {
+        void set(Object object, Object value) throws Exception;
+    }
+
+    interface ShortSetter {
+        void set(Object object, short value) throws Exception;
+    }
+
+    interface Supplier {
+        Object get() throws Exception;
+    }
+}
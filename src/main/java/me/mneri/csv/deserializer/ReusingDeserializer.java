@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.deserializer;
+
+import me.mneri.csv.reader.RecycledLine;
+
+/**
+ * Deserialize csv lines into existing objects. A reader with a {@code ReusingDeserializer} can fill the same mutable
+ * object with every line through {@link me.mneri.csv.reader.CsvReader#next(Object)}, so that processing a stream of
+ * lines doesn't allocate an object per line.
+ *
+ * @param <T> the type of the objects.
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public interface ReusingDeserializer<T> extends Deserializer<T> {
+    /**
+     * Deserialize a csv line into an existing object. Every property of the object that is read from the line must be
+     * assigned, since the object still holds the values of the previous line.
+     *
+     * @param line   the csv line.
+     * @param target the object to fill.
+     * @throws Exception if anything goes wrong.
+     */
+    void deserialize(RecycledLine line, T target) throws Exception;
+}
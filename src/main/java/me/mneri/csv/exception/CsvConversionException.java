@@ -29,10 +29,11 @@ import java.util.List;
  */
 public class CsvConversionException extends CsvException {
     public CsvConversionException(RecycledLine line, Throwable cause) {
-        super(String.format("Error while converting values: %s", line.toString()), cause);
+        // The line is recycled by the reader, so its content must be copied now.
+        super("Error while converting values: " + line, cause);
     }
 
     public CsvConversionException(List<String> line, Throwable cause) {
-        super(String.format("Error while converting values: %s", line.toString()), cause);
+        super("Error while converting values: " + line, cause);
     }
 }
@@ -24,7 +24,34 @@ package me.mneri.csv.exception;
  * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
  */
 public class IllegalCsvFormatException extends CsvException {
-    public IllegalCsvFormatException(int line, String message) {
+    private final long lineNumber;
+    private final long position;
+
+    public IllegalCsvFormatException(long line, String message) {
+        this(line, -1, message);
+    }
+
+    public IllegalCsvFormatException(long line, long position, String message) {
         super(String.format("Error at line %d: %s", line, message));
+        this.lineNumber = line;
+        this.position = position;
+    }
+
+    /**
+     * Return the number of the line where the error occurred, starting from 1.
+     *
+     * @return The line number.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Return the number of characters preceding the error in the stream, or {@code -1} if the position is unknown.
+     *
+     * @return The position.
+     */
+    public long getPosition() {
+        return position;
     }
 }
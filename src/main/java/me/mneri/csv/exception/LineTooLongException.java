@@ -19,7 +19,11 @@
 package me.mneri.csv.exception;
 
 public class LineTooLongException extends IllegalCsvFormatException {
-    public LineTooLongException(int line) {
+    public LineTooLongException(long line) {
         super(line, "line is too big.");
     }
+
+    public LineTooLongException(long line, long position) {
+        super(line, position, "line is too big.");
+    }
 }
@@ -24,7 +24,11 @@ package me.mneri.csv.exception;
  * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
  */
 public class UnexpectedCharacterException extends IllegalCsvFormatException {
-    public UnexpectedCharacterException(int line, int c) {
-        super(line, String.format("unexpected character code %d.", c));
+    public UnexpectedCharacterException(long line, int c) {
+        this(line, -1, c);
+    }
+
+    public UnexpectedCharacterException(long line, long position, int c) {
+        super(line, position, String.format("unexpected character code %d.", c));
     }
 }
@@ -75,4 +75,27 @@ public interface Format {
      * @return An integer encoding both the next state and the action to perform.
      */
     int consume(int s, int c);
+
+    /**
+     * Return an integer encoding the part of the state that this format keeps outside of the automaton, such as a
+     * delimiter detected at the beginning of the file. The value is only meaningful between two lines.
+     * <p>
+     * Stateless formats don't need to override this method.
+     *
+     * @return An integer encoding the state of the format.
+     * @see Format#restore(int)
+     */
+    default int snapshot() {
+        return 0;
+    }
+
+    /**
+     * Restore a state previously returned by {@link Format#snapshot()}.
+     * <p>
+     * Stateless formats don't need to override this method.
+     *
+     * @param snapshot The state, as returned by {@link Format#snapshot()}.
+     */
+    default void restore(int snapshot) {
+    }
 }
@@ -1,6 +1,18 @@
 package me.mneri.csv.format;
 
+import java.util.Locale;
+
 public interface FormatProvider<T extends Format> {
+    /**
+     * Return the locale of the files in this format. The locale determines the decimal and grouping separators used by
+     * the localized getters of {@link me.mneri.csv.reader.RecycledLine}.
+     *
+     * @return The locale.
+     */
+    default Locale getLocale() {
+        return Locale.ROOT;
+    }
+
     /**
      * Return a new {@link Format} instance.
      * <p>
@@ -17,7 +17,7 @@ public final class MachintoshRelaxedFormat implements Format {
     // *                "                ,                \r               \n               EOF
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|ELH,         EOF|STP,         0,0, // BFL
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH|ELH, EOF|SFH|EFH|ELH, 0,0, // BFF
-       QOT|SFH,         SQE,             QOT,             QOT,             QOT,             ERR|ERH,         0,0, // SQT
+       QOT|SFH,         SQE,             QOT|SFH,         QOT|SFH,         QOT|SFH,         ERR|ERH,         0,0, // SQT
        ERR|ERH,         QOT|SFH,         BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH,     EOF|SFH|EFH|STP, 0,0, // SQE
        QOT,             ESC,             QOT,             QOT,             QOT,             ERR|ERH,         0,0, // QOT
        ERR|ERH,         QOT|RCB,         BFF|EFB,         CAR|EFB,         BFL|EFB|ELH,     EOF|EFB|ELH|STP, 0,0, // ESC
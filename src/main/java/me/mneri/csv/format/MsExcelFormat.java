@@ -95,7 +95,7 @@ public final class MsExcelFormat implements Format {
     // *                "                ,                \r               \n               EOF
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH|ELH, EOF|STP,         0,0, // BFL
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH|ELH, EOF|SFH|EFH|STP, 0,0, // BFF
-       QOT|SFH,         SQE,             QOT,             QOT,             QOT,             EOF|SFH|EFH|STP, 0,0, // SQT
+       QOT|SFH,         SQE,             QOT|SFH,         QOT|SFH,         QOT|SFH,         EOF|SFH|EFH|STP, 0,0, // SQT
        FLD|SFH,         QOT|SFH,         BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH,     EOF|SFH|EFH|STP, 0,0, // SQE
        QOT,             ESC,             QOT,             QOT,             QOT,             EOF|EFH|STP,     0,0, // QOT
        FLD|RCB,         QOT|RCB,         BFF|EFB,         CAR|EFB,         BFL|EFB|ELH,     EOF|EFB|STP,     0,0, // ESC
@@ -128,6 +128,11 @@ public final class MsExcelFormat implements Format {
             this.locale = locale;
         }
 
+        @Override
+        public Locale getLocale() {
+            return locale;
+        }
+
         @Override
         public MsExcelFormat provide() {
             return new MsExcelFormat(locale);
@@ -207,6 +212,29 @@ public final class MsExcelFormat implements Format {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return The delimiter in use, or {@code -1} if the delimiter specification has not been read yet.
+     */
+    @Override
+    public int snapshot() {
+        return isDs ? -1 : delim;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param snapshot The state, as returned by {@link Format#snapshot()}.
+     */
+    @Override
+    public void restore(int snapshot) {
+        if (snapshot >= 0) {
+            isDs = false;
+            delim = snapshot;
+        }
+    }
+
     private int consumeDs(int s, int c) {
         int t = DFA[(s | indexOfDs(c)) & 0xFF];
         if ((t & EDS) != 0) {
@@ -78,7 +78,7 @@ public final class Rfc4180RelaxedFormat implements Format {
     // *                "                ,                \r               \n               EOF
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH|ELH, EOF|STP,         0,0, // BFL
        FLD|SFH,         SQT,             BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH|ELH, EOF|SFH|EFH|STP, 0,0, // BFF
-       QOT|SFH,         SQE,             QOT,             QOT,             QOT,             EOF|SFH|EFH|STP, 0,0, // SQT
+       QOT|SFH,         SQE,             QOT|SFH,         QOT|SFH,         QOT|SFH,         EOF|SFH|EFH|STP, 0,0, // SQT
        FLD|SFH,         QOT|SFH,         BFF|SFH|EFH,     CAR|SFH|EFH,     BFL|SFH|EFH,     EOF|SFH|EFH|STP, 0,0, // SQE
        QOT,             ESC,             QOT,             QOT,             QOT,             EOF|EFH|STP,     0,0, // QOT
        FLD|RCB,         QOT|RCB,         BFF|EFB,         CAR|EFB,         BFL|EFB|ELH,     EOF|EFB|STP,     0,0, // ESC
@@ -19,19 +19,34 @@
 package me.mneri.csv.option;
 
 import me.mneri.csv.exception.IllegalCsvOptionsException;
+import me.mneri.csv.reader.BufferPool;
+import me.mneri.csv.reader.CsvSchema;
+import me.mneri.csv.reader.ErrorHandler;
+import me.mneri.csv.reader.ReaderMetrics;
 import me.mneri.csv.writer.CsvWriter;
 
+import java.util.Locale;
+
 /**
  * Options for {@link CsvReader} and {@link CsvWriter}.
  *
  * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
  */
 public class CsvOptions {
-    private static final int DEFAULT_MAX_LINE_LENGTH = 16386;
+    private static final int DEFAULT_DEDUPLICATION_CACHE_SIZE = 1024;
+    private static final int DEFAULT_MAX_LINE_LENGTH = 32_768;
 
+    private BufferPool bufferPool;
+    private int[] deduplicatedColumns = new int[0];
+    private int deduplicationCacheSize = DEFAULT_DEDUPLICATION_CACHE_SIZE;
     private int delimiter;
+    private ErrorHandler errorHandler;
+    private Locale locale;
+    private int maxErrors = Integer.MAX_VALUE;
     private int maxLineLength;
+    private ReaderMetrics metrics;
     private int quotation;
+    private CsvSchema schema;
 
     private CsvOptions() {
         maxLineLength = DEFAULT_MAX_LINE_LENGTH;
@@ -41,10 +56,15 @@ public class CsvOptions {
         //@formatter:off
         if (delimiter == '\r' || delimiter == '\n' || delimiter <= 0 ||
                 quotation == '\r' || quotation == '\n' || quotation <= 0 ||
-                delimiter == quotation || maxLineLength <= 0) {
+                delimiter == quotation || maxLineLength <= 0 || deduplicationCacheSize <= 0 || maxErrors < 0) {
             throw new IllegalCsvOptionsException();
         }
         //@formatter:on
+        for (int column : deduplicatedColumns) {
+            if (column < 0) {
+                throw new IllegalCsvOptionsException();
+            }
+        }
     }
 
     /**
@@ -68,18 +88,50 @@ public class CsvOptions {
         return options;
     }
 
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public int[] getDeduplicatedColumns() {
+        return deduplicatedColumns.clone();
+    }
+
+    public int getDeduplicationCacheSize() {
+        return deduplicationCacheSize;
+    }
+
     public int getDelimiter() {
         return delimiter;
     }
 
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
     public int getMaxLineLength() {
         return maxLineLength;
     }
 
+    public ReaderMetrics getMetrics() {
+        return metrics;
+    }
+
     public int getQuotation() {
         return quotation;
     }
 
+    public CsvSchema getSchema() {
+        return schema;
+    }
+
     /**
      * Get RFC 4180 options.
      *
@@ -92,6 +144,48 @@ public class CsvOptions {
         return options;
     }
 
+    /**
+     * Set the pool the reader borrows its buffer from. By default each reader allocates its own buffer; a shared pool
+     * bounds the memory used by many concurrent readers.
+     * <p>
+     * The reader borrows a larger buffer without waiting when the pool can hand it out, and gives the old one back once
+     * the line has been copied; otherwise it gives up its buffer before waiting, so that readers never wait for each
+     * other's buffers. The buffer is given back for good when the reader is closed. A line that would need a buffer larger than the capacity of the pool makes the reader throw a
+     * {@link me.mneri.csv.exception.LineTooLongException}, whatever the maximum line length; a pool smaller than the
+     * initial buffer of a reader, 64 KB, makes the first read throw an {@link java.io.IOException}. Pooled buffers are
+     * heap {@code char[]}s rather than direct buffers, since the line accessors read characters straight from the
+     * array.
+     *
+     * @param bufferPool The pool, or {@code null} to allocate a new buffer.
+     */
+    public void setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Set the columns whose values are deduplicated in reading. Values of these columns are looked up in a bounded
+     * per-column cache before being turned into strings, so that equal values share the same {@link String} instance.
+     * <p>
+     * Deduplication pays off for columns with a small number of distinct values (country codes, categories, and so
+     * on) when the objects returned by the reader are retained.
+     *
+     * @param columns The indexes of the columns; they must not be negative.
+     */
+    public void setDeduplicatedColumns(int... columns) {
+        this.deduplicatedColumns = columns.clone();
+    }
+
+    /**
+     * Set the number of distinct values each deduplicated column can hold at the same time. The number is rounded up
+     * to the next power of two.
+     *
+     * @param deduplicationCacheSize The number of values.
+     * @see CsvOptions#setDeduplicatedColumns(int...)
+     */
+    public void setDeduplicationCacheSize(int deduplicationCacheSize) {
+        this.deduplicationCacheSize = deduplicationCacheSize;
+    }
+
     /**
      * Set the delimiter character used in reading or writing.
      *
@@ -101,10 +195,51 @@ public class CsvOptions {
         this.delimiter = delimiter;
     }
 
+    /**
+     * Set the handler of malformed lines. By default the reader throws an exception on the first malformed line;
+     * with an error handler, malformed lines are skipped up to the next new-line character and reported to the
+     * handler, without allocating an exception.
+     * <p>
+     * Lines the deserializer fails on are reported and skipped too. To tell them apart, the reader deserializes each
+     * line as soon as {@link me.mneri.csv.reader.CsvReader#hasNext()} parses it, instead of in
+     * {@link me.mneri.csv.reader.CsvReader#next()}.
+     *
+     * @param errorHandler The error handler, or {@code null} to throw on the first malformed line.
+     * @see CsvOptions#setMaxErrors(int)
+     */
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Set the locale of the numbers read through the localized getters of {@link me.mneri.csv.reader.RecycledLine},
+     * like {@link me.mneri.csv.reader.RecycledLine#getLocalizedDouble(int)}. By default the locale is the one of the
+     * format provider: the locale of {@link me.mneri.csv.format.MsExcelFormat.Provider}, {@link Locale#ROOT} for the
+     * other formats.
+     *
+     * @param locale The locale, or {@code null} to use the locale of the format provider.
+     */
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    /**
+     * Set the maximum number of malformed lines that are reported to the error handler. Once the maximum has been
+     * reached the reader throws an exception on the next malformed line, as it does without an error handler.
+     *
+     * @param maxErrors The maximum number of malformed lines.
+     * @see CsvOptions#setErrorHandler(ErrorHandler)
+     */
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
     /**
      * Set the maximum number of characters per line the parser is allowed to read.
      * <p>
-     * Avoid {@link OutOfMemoryError}s that could be thrown in case the file is not the proper format.
+     * Avoid {@link OutOfMemoryError}s that could be thrown in case the file is not the proper format. The buffer of the
+     * reader grows to hold lines longer than its initial size, up to this maximum, and shrinks back once the long line
+     * has been read. When many readers handle long lines, a {@link BufferPool} bounds the memory they hold together.
      *
      * @param maxLineLength The maximum length in number of characters.
      */
@@ -112,6 +247,16 @@ public class CsvOptions {
         this.maxLineLength = maxLineLength;
     }
 
+    /**
+     * Set the metrics the reader publishes its counters and timings to. By default readers don't collect metrics, and
+     * don't pay for them.
+     *
+     * @param metrics The metrics, or {@code null} not to collect metrics.
+     */
+    public void setMetrics(ReaderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Set the quotation character used in reading or writing.
      *
@@ -120,4 +265,15 @@ public class CsvOptions {
     public void setQuotation(int quotation) {
         this.quotation = quotation;
     }
+
+    /**
+     * Set the schema the lines are converted and validated against while reading. The converters of the columns are
+     * resolved once per reader, and lines that don't conform to the schema are handled as malformed lines.
+     *
+     * @param schema The schema, or {@code null} not to convert the lines.
+     * @see me.mneri.csv.reader.RecycledLine#getRow()
+     */
+    public void setSchema(CsvSchema schema) {
+        this.schema = schema;
+    }
 }
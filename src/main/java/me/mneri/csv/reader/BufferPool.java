@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A pool of character buffers shared by many {@link CsvReader}s. Readers borrow their buffer from the pool when they
+ * start reading and give it back when they are closed, so that the memory held by idle readers can be reused.
+ * <p>
+ * Buffers are grouped in size classes, each class being a power of two. The pool never holds more than its capacity,
+ * counting both borrowed and idle buffers: when the capacity is exhausted, idle buffers of other size classes are
+ * discarded, and if that is not enough the borrowing thread waits until another reader gives its buffer back.
+ * <p>
+ * A reader starts with a buffer of 64 KB (32768 characters): with a smaller pool the first read fails with an
+ * {@link IOException}. A line that would need a buffer larger than the capacity fails with a
+ * {@link me.mneri.csv.exception.LineTooLongException}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see me.mneri.csv.option.CsvOptions#setBufferPool(BufferPool)
+ */
+public final class BufferPool {
+    private static final int MIN_SIZE_CLASS = 12;
+    private static final int MAX_SIZE_CLASS = 30;
+
+    private long allocated;
+    private final Set<char[]> borrowed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final long capacity;
+    private final List<ArrayDeque<char[]>> idle = new ArrayList<>();
+
+    /**
+     * Create a new pool.
+     *
+     * @param capacity The maximum number of bytes held by the pool.
+     */
+    public BufferPool(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        this.capacity = capacity;
+        for (int i = 0; i <= MAX_SIZE_CLASS - MIN_SIZE_CLASS; i++) {
+            idle.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Borrow a buffer of at least the specified length, waiting if the capacity of the pool is exhausted.
+     *
+     * @param length The minimum length of the buffer.
+     * @return A buffer.
+     * @throws InterruptedIOException if the thread is interrupted while waiting.
+     * @throws IOException            if the buffer is larger than the capacity of the pool, see
+     *                                {@link BufferPool#fits(int)}.
+     */
+    char[] acquire(int length) throws IOException {
+        if (!fits(length)) {
+            throw new IOException("A buffer of " + length + " characters is larger than the capacity of the pool ("
+                    + capacity + " bytes).");
+        }
+        int sizeClass = sizeClassOf(length);
+        synchronized (this) {
+            char[] buffer;
+            while ((buffer = take(sizeClass)) == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a buffer.");
+                }
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Borrow a buffer of at least the specified length if it is available without waiting.
+     *
+     * @param length The minimum length of the buffer.
+     * @return A buffer, or {@code null} if the capacity of the pool is exhausted or the buffer is larger than the
+     * capacity of the pool.
+     */
+    char[] tryAcquire(int length) {
+        if (!fits(length)) {
+            return null;
+        }
+        int sizeClass = sizeClassOf(length);
+        synchronized (this) {
+            return take(sizeClass);
+        }
+    }
+
+    /**
+     * Take an idle buffer of the specified size class, or allocate a new one if the capacity allows it.
+     *
+     * @param sizeClass The size class.
+     * @return A buffer, or {@code null} if the capacity of the pool is exhausted.
+     */
+    private char[] take(int sizeClass) {
+        ArrayDeque<char[]> buffers = idle.get(sizeClass - MIN_SIZE_CLASS);
+        long bytes = 2L << sizeClass;
+        char[] buffer;
+        if (!buffers.isEmpty()) {
+            buffer = buffers.pop();
+        } else if (allocated + bytes <= capacity || evict(bytes)) {
+            allocated += bytes;
+            buffer = new char[1 << sizeClass];
+        } else {
+            return null;
+        }
+        borrowed.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Give up a buffer previously borrowed with {@link BufferPool#acquire(int)}, without giving it back: the buffer is
+     * no longer counted by the pool and is never handed out again, so that the caller can keep reading it while it
+     * waits for another buffer.
+     *
+     * @param buffer The buffer.
+     * @throws IllegalArgumentException if the buffer is not borrowed from this pool, or has already been given back.
+     */
+    synchronized void discard(char[] buffer) {
+        if (!borrowed.remove(buffer)) {
+            throw new IllegalArgumentException("The buffer is not borrowed from this pool.");
+        }
+        allocated -= 2L * buffer.length;
+        notifyAll();
+    }
+
+    /**
+     * Discard idle buffers until the specified number of bytes can be allocated.
+     *
+     * @param bytes The number of bytes.
+     * @return {@code true} if the bytes can be allocated.
+     */
+    private boolean evict(long bytes) {
+        for (ArrayDeque<char[]> buffers : idle) {
+            while (allocated + bytes > capacity && !buffers.isEmpty()) {
+                allocated -= 2L * buffers.pop().length;
+            }
+        }
+        return allocated + bytes <= capacity;
+    }
+
+    /**
+     * Return {@code true} if a buffer of the specified length can be borrowed from the pool, that is if its size class
+     * is not larger than the capacity of the pool.
+     *
+     * @param length The length of the buffer.
+     * @return {@code true} if the buffer can be borrowed.
+     */
+    boolean fits(int length) {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1);
+        return sizeClass <= MAX_SIZE_CLASS && 2L << Math.max(sizeClass, MIN_SIZE_CLASS) <= capacity;
+    }
+
+    /**
+     * Return the number of bytes held by the pool, counting both borrowed and idle buffers.
+     *
+     * @return The number of bytes.
+     */
+    public synchronized long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * Return the maximum number of bytes held by the pool.
+     *
+     * @return The number of bytes.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Return the number of buffers currently borrowed from the pool.
+     *
+     * @return The number of buffers.
+     */
+    synchronized int getBorrowed() {
+        return borrowed.size();
+    }
+
+    /**
+     * Give back a buffer previously borrowed with {@link BufferPool#acquire(int)}.
+     *
+     * @param buffer The buffer.
+     * @throws IllegalArgumentException if the buffer is not borrowed from this pool, or has already been given back.
+     */
+    synchronized void release(char[] buffer) {
+        if (!borrowed.remove(buffer)) {
+            throw new IllegalArgumentException("The buffer is not borrowed from this pool.");
+        }
+        idle.get(sizeClassOf(buffer.length) - MIN_SIZE_CLASS).push(buffer);
+        notifyAll();
+    }
+
+    private static int sizeClassOf(int length) {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(Math.max(length, 1) - 1);
+        if (sizeClass > MAX_SIZE_CLASS) {
+            throw new IllegalArgumentException("Buffer too large: " + length);
+        }
+        return Math.max(sizeClass, MIN_SIZE_CLASS);
+    }
+}
@@ -0,0 +1,278 @@
+package me.mneri.csv.reader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reader of bytes from a channel, decoded with the specified charset. A byte order mark at the start of the stream is
+ * removed, and the charset it identifies takes precedence over the specified one.
+ * <p>
+ * ISO-8859-1 and US-ASCII bytes are widened to characters by a plain loop; the other charsets are decoded in bulk,
+ * straight into the array of the caller. Malformed input is replaced, as {@link java.io.InputStreamReader} does.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class ChannelReader extends Reader {
+    private static final int BUFFER_SIZE = 65_536;
+
+    private static final int UNDECIDED = 0;
+    private static final int LATIN_1 = 1;
+    private static final int ASCII = 2;
+    private static final int DECODE = 3;
+
+    // Heap buffers are used on purpose: the decoders of the JDK only take their fast path on array-backed buffers.
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ReadableByteChannel channel;
+    private final Charset declared;
+    private final boolean following;
+    private final long start;
+    private long bytesRead;
+    private Charset charset;
+    private CharBuffer chars;
+    private CharsetDecoder decoder;
+    private boolean eof;
+    private boolean flushed;
+    private int mode = UNDECIDED;
+
+    /**
+     * Create a new reader.
+     *
+     * @param channel   The channel.
+     * @param charset   The charset of the bytes, unless the stream starts with a byte order mark.
+     * @param following {@code true} if the end of the channel is not final, as for a file being appended to: bytes of
+     *                  an incomplete character at the end of the channel are kept until the rest of the character can
+     *                  be read.
+     */
+    ChannelReader(ReadableByteChannel channel, Charset charset, boolean following) {
+        this(channel, charset, following, 0);
+    }
+
+    /**
+     * Create a new reader.
+     *
+     * @param channel   The channel.
+     * @param charset   The charset of the bytes, unless the stream starts with a byte order mark.
+     * @param following {@code true} if the end of the channel is not final.
+     * @param start     The offset in the stream of the first byte of the channel. A byte order mark is only looked for
+     *                  when the channel is positioned at the start of the stream.
+     * @see ChannelReader#ChannelReader(ReadableByteChannel, Charset, boolean)
+     */
+    ChannelReader(ReadableByteChannel channel, Charset charset, boolean following, long start) {
+        this.channel = channel;
+        this.charset = charset;
+        this.declared = charset;
+        this.following = following;
+        this.start = start;
+        bytes.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int decode(char[] cbuf, int off, int len) throws IOException {
+        if (flushed) {
+            return -1;
+        }
+        if (chars == null || chars.array() != cbuf) {
+            chars = CharBuffer.wrap(cbuf);
+        }
+        chars.clear();
+        chars.position(off);
+        chars.limit(off + len);
+
+        while (true) {
+            // The decoder is told about the end of the input only when the input really ends.
+            CoderResult result = decoder.decode(bytes, chars, eof && !following);
+            if (result.isOverflow() || chars.position() > off) {
+                break;
+            }
+            if (eof) {
+                if (!following) {
+                    decoder.flush(chars);
+                    flushed = true;
+                }
+                break;
+            }
+            fill();
+        }
+
+        int read = chars.position() - off;
+        return read == 0 && eof ? -1 : read;
+    }
+
+    /**
+     * Choose how the bytes are turned into characters, after removing the byte order mark, if any.
+     *
+     * @return {@code true} if the mode has been chosen, {@code false} if more bytes are needed to tell whether the
+     * stream starts with a byte order mark.
+     * @throws IOException if an I/O error occurs.
+     */
+    private boolean decideMode() throws IOException {
+        if (start == 0 && !removeByteOrderMark()) {
+            return false;
+        }
+
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            mode = LATIN_1;
+        } else if (charset.equals(StandardCharsets.US_ASCII)) {
+            mode = ASCII;
+        } else {
+            mode = DECODE;
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return true;
+    }
+
+    /**
+     * Remove the byte order mark at the start of the stream, if any, and take the charset it identifies.
+     *
+     * @return {@code true} if the start of the stream has been checked, {@code false} if more bytes are needed.
+     * @throws IOException if an I/O error occurs.
+     */
+    private boolean removeByteOrderMark() throws IOException {
+        while (bytes.remaining() < 3 && fill() > 0)
+            ; // Intentionally empty
+
+        int p = bytes.position();
+        int n = bytes.remaining();
+        int b0 = n > 0 ? bytes.get(p) & 0xff : -1;
+        int b1 = n > 1 ? bytes.get(p + 1) & 0xff : -1;
+        int b2 = n > 2 ? bytes.get(p + 2) & 0xff : -1;
+
+        if (b0 == 0xef && b1 == 0xbb && b2 == 0xbf) {
+            charset = StandardCharsets.UTF_8;
+            bytes.position(p + 3);
+        } else if (b0 == 0xfe && b1 == 0xff) {
+            charset = StandardCharsets.UTF_16BE;
+            bytes.position(p + 2);
+        } else if (b0 == 0xff && b1 == 0xfe) {
+            charset = StandardCharsets.UTF_16LE;
+            bytes.position(p + 2);
+        } else if (following && (n == 0 || (n == 1 && b0 >= 0xef) || (n == 2 && b0 == 0xef && b1 == 0xbb))) {
+            // A prefix of a byte order mark: the rest might not have been written yet.
+            return false;
+        }
+        return true;
+    }
+
+    private int fill() throws IOException {
+        bytes.compact();
+        int read;
+        try {
+            read = channel.read(bytes);
+        } finally {
+            bytes.flip();
+        }
+        if (read < 0) {
+            eof = true;
+        } else {
+            eof = false;
+            bytesRead += read;
+        }
+        return read;
+    }
+
+    /**
+     * Return the offset in the stream of the first byte of the specified characters, which must be the last characters
+     * returned by this reader. The offset can only be told when the length of each character is known and the charset
+     * is the one passed to the constructor, not one identified by a byte order mark.
+     *
+     * @param cbuf The characters.
+     * @param off  The index of the first character.
+     * @param len  The number of characters.
+     * @return The offset, or {@code -1} if it can't be told.
+     */
+    long getByteOffset(char[] cbuf, int off, int len) {
+        if (mode == UNDECIDED) {
+            return len == 0 ? start : -1;
+        }
+        if (!charset.equals(declared)) {
+            return -1;
+        }
+        long pending = 0;
+        if (mode == DECODE) {
+            boolean utf8 = charset.equals(StandardCharsets.UTF_8);
+            if (!utf8 && !charset.equals(StandardCharsets.UTF_16BE) && !charset.equals(StandardCharsets.UTF_16LE)) {
+                return -1;
+            }
+            for (int i = off, end = off + len; i < end; i++) {
+                char c = cbuf[i];
+                if (c == '\ufffd') {
+                    // Either a character of the stream or the replacement of malformed input, whose length is unknown.
+                    return -1;
+                }
+                // A surrogate pair takes four bytes in UTF-8, two for each half.
+                //@formatter:off
+                if (!utf8)                         pending += 2;
+                else if (c < 0x80)                 pending += 1;
+                else if (c < 0x800)                pending += 2;
+                else if (Character.isSurrogate(c)) pending += 2;
+                else                               pending += 3;
+                //@formatter:on
+            }
+        } else {
+            pending = len;
+        }
+        return start + bytesRead - bytes.remaining() - pending;
+    }
+
+    /**
+     * Return the number of bytes read from the channel so far.
+     *
+     * @return The number of bytes.
+     */
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (following) {
+            // The end of a followed channel is only the end of what has been written so far.
+            eof = false;
+        }
+        if (mode == UNDECIDED && !decideMode()) {
+            return -1;
+        }
+        if (mode == DECODE) {
+            return decode(cbuf, off, len);
+        }
+        if (!bytes.hasRemaining() && fill() <= 0) {
+            return -1;
+        }
+        return widen(cbuf, off, len);
+    }
+
+    private int widen(char[] cbuf, int off, int len) {
+        byte[] array = bytes.array();
+        int p = bytes.arrayOffset() + bytes.position();
+        int n = Math.min(len, bytes.remaining());
+        if (mode == LATIN_1) {
+            for (int i = 0; i < n; i++) {
+                cbuf[off + i] = (char) (array[p + i] & 0xff);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                byte b = array[p + i];
+                cbuf[off + i] = b < 0 ? '\ufffd' : (char) b;
+            }
+        }
+        bytes.position(bytes.position() + n);
+        return n;
+    }
+}
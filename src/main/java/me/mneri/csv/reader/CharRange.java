@@ -0,0 +1,44 @@
+package me.mneri.csv.reader;
+
+/**
+ * A reusable view of a range of a character buffer.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class CharRange implements CharSequence {
+    private char[] buffer;
+    private int length;
+    private int start;
+
+    void set(char[] buffer, int start, int length) {
+        this.buffer = buffer;
+        this.start = start;
+        this.length = length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return buffer[start + index];
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range: [" + start + ", " + end + ")");
+        }
+        return new String(buffer, this.start + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, start, length);
+    }
+}
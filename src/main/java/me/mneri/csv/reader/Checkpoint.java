@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.io.Serializable;
+
+/**
+ * A position in a csv stream, taken at a line boundary. Checkpoints are returned by {@link CsvReader#checkpoint()} and
+ * can be used to resume reading a file without parsing again the lines that precede the position.
+ * <p>
+ * Checkpoints taken by readers of a {@link java.nio.channels.ReadableByteChannel} or a {@link java.nio.file.Path} also
+ * hold the offset in bytes of the position: a reader resuming from such a checkpoint moves the channel straight to
+ * the offset, instead of decoding and skipping the characters that precede the position.
+ * <p>
+ * Checkpoints are immutable and can be persisted: a checkpoint rebuilt from its {@link Checkpoint#getPosition()},
+ * {@link Checkpoint#getLineNumber()}, {@link Checkpoint#getFormatState()} and {@link Checkpoint#getByteOffset()} is
+ * equivalent to the original.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class Checkpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long byteOffset;
+    private final int formatState;
+    private final long lineNumber;
+    private final long position;
+
+    /**
+     * Create a new checkpoint.
+     *
+     * @param position    The number of characters preceding the checkpoint.
+     * @param lineNumber  The number of lines preceding the checkpoint.
+     * @param formatState The state of the format, as returned by {@link me.mneri.csv.format.Format#snapshot()}.
+     */
+    public Checkpoint(long position, long lineNumber, int formatState) {
+        this(position, lineNumber, formatState, -1);
+    }
+
+    /**
+     * Create a new checkpoint.
+     *
+     * @param position    The number of characters preceding the checkpoint.
+     * @param lineNumber  The number of lines preceding the checkpoint.
+     * @param formatState The state of the format, as returned by {@link me.mneri.csv.format.Format#snapshot()}.
+     * @param byteOffset  The number of bytes preceding the checkpoint, or {@code -1} if it is unknown.
+     */
+    public Checkpoint(long position, long lineNumber, int formatState, long byteOffset) {
+        if (position < 0 || lineNumber < 0 || byteOffset < -1) {
+            throw new IllegalArgumentException("Negative position, line number or byte offset.");
+        }
+        this.position = position;
+        this.lineNumber = lineNumber;
+        this.formatState = formatState;
+        this.byteOffset = byteOffset;
+    }
+
+    /**
+     * Return the number of bytes preceding the checkpoint, including the byte order mark, if any.
+     *
+     * @return The number of bytes, or {@code -1} if it is unknown.
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * Return the state of the format at the checkpoint.
+     *
+     * @return The state of the format.
+     */
+    public int getFormatState() {
+        return formatState;
+    }
+
+    /**
+     * Return the number of lines preceding the checkpoint.
+     *
+     * @return The number of lines.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Return the number of characters preceding the checkpoint.
+     *
+     * @return The number of characters.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Checkpoint)) {
+            return false;
+        }
+        Checkpoint other = (Checkpoint) o;
+        return position == other.position && lineNumber == other.lineNumber && formatState == other.formatState
+                && byteOffset == other.byteOffset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Long.hashCode(position) + Long.hashCode(lineNumber)) + formatState)
+                + Long.hashCode(byteOffset);
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint[position=" + position + ", line=" + lineNumber + "]";
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference to a column by its name in the header of a csv file. Column references are meant to be created once,
+ * typically as constants of a deserializer, and used with {@link RecycledLine#getString(ColumnRef)} or
+ * {@link RecycledLine#indexOf(ColumnRef)}. Each {@link Header} resolves a reference once, the first time it is used
+ * with it; following accesses cost as much as an access by index, whatever the number of readers and headers the
+ * reference is used with.
+ * <p>
+ * Headers keep their resolutions in a table with a slot for each reference, so only the first 4096 references created
+ * in the process are resolved once: the following ones are looked up by name on every access. References should not
+ * be created for each line or each file.
+ * <p>
+ * Example:
+ * <pre>
+ * private static final ColumnRef NAME = ColumnRef.of("name");
+ *
+ * public Person deserialize(RecycledLine line) {
+ *     Person person = new Person();
+ *     person.setName(line.getString(NAME));
+ *     return person;
+ * }
+ * </pre>
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see CsvReader#readHeader()
+ */
+public final class ColumnRef {
+    static final int MAX_RESOLVED = 4096;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    final int id;
+    private final String name;
+
+    private ColumnRef(String name) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        // The references past the bound share the last id, which never has a slot.
+        this.id = SEQUENCE.getAndUpdate(id -> id < MAX_RESOLVED ? id + 1 : id);
+        this.name = name;
+    }
+
+    /**
+     * Return a new reference to the column with the specified name.
+     *
+     * @param name The name of the column, as found in the header.
+     * @return The column reference.
+     */
+    public static ColumnRef of(String name) {
+        return new ColumnRef(name);
+    }
+
+    /**
+     * Return the name of the column.
+     *
+     * @return The name of the column.
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The types of the columns of a {@link CsvSchema}.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public enum ColumnType {
+    //@formatter:off
+    BIG_DECIMAL(BigDecimal.class),
+    BIG_INTEGER(BigInteger.class),
+    BOOLEAN    (Boolean.class),
+    DOUBLE     (Double.class),
+    FLOAT      (Float.class),
+    INTEGER    (Integer.class),
+    LONG       (Long.class),
+    SHORT      (Short.class),
+    STRING     (String.class);
+    //@formatter:on
+
+    private final Class<?> javaType;
+
+    ColumnType(Class<?> javaType) {
+        this.javaType = javaType;
+    }
+
+    /**
+     * Return the Java type of the values of this column type.
+     *
+     * @return The Java type.
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    boolean isIntegral() {
+        return this == INTEGER || this == LONG || this == SHORT || this == BIG_INTEGER;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.format.FormatProvider;
+import me.mneri.csv.option.CsvOptions;
+
+/**
+ * A byte range of a csv file, for many workers to read the same file in parallel. Each split is read by its own
+ * {@link CsvReader}, and every line of the file is read by exactly one of them: a line belongs to the split its first
+ * byte falls in.
+ * <p>
+ * Lines are told apart by their line breaks, found at the byte level: a line starts after a line feed, or after a
+ * carriage return that isn't followed by a line feed. The charset of the file must encode the line breaks as the
+ * single bytes of ASCII, as UTF-8 and the ISO-8859 charsets do; UTF-16 files can't be split. Only the first split
+ * starts with the byte order mark and the header of the file, if any.
+ * <p>
+ * A line break inside a quoted field can't be told apart from the end of a line without knowing whether the bytes
+ * before it open a quotation, which depends on the whole file up to that point. There are two strategies:
+ * <ul>
+ * <li>{@link CsvInputSplit#split(Path, long, long)} computes the splits from the length of the file alone. Each
+ * reader moves the start and the end of its split to the next line break when it is opened, assuming that quoted
+ * fields don't contain line breaks. This is the cheap strategy, and the only correct one for such files.</li>
+ * <li>{@link CsvInputSplit#splitQuoted(Path, long, int)} reads the whole file once, counting the quotation characters,
+ * and puts the boundaries of the splits at line breaks outside of quotations. The result is exact for files in which
+ * the quotation character only appears in quoted fields, as RFC 4180 requires; the readers use the boundaries as
+ * they are.</li>
+ * </ul>
+ * Splits are immutable and serializable, so that they can be sent to the workers.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class CsvInputSplit implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SCAN_SIZE = 8_192;
+
+    private final boolean aligned;
+    private final long end;
+    private final String path;
+    private final long start;
+
+    private CsvInputSplit(String path, long start, long end, boolean aligned) {
+        this.path = path;
+        this.start = start;
+        this.end = end;
+        this.aligned = aligned;
+    }
+
+    /**
+     * Return the first line boundary at or after the specified position.
+     *
+     * @param channel  The file.
+     * @param position The position.
+     * @param length   The length of the file.
+     * @return The position of the boundary, or the length of the file if there is no boundary after the position.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long align(FileChannel channel, long position, long length) throws IOException {
+        if (position <= 0 || position >= length) {
+            return Math.max(0, Math.min(position, length));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        byte[] bytes = buffer.array();
+        // The byte before the position tells whether a line starts at the position.
+        long p = position - 1;
+        int prev = -1;
+        int read;
+        while ((read = channel.read(buffer, p)) > 0) {
+            for (int i = 0; i < read; i++) {
+                int b = bytes[i];
+                if (isBoundary(prev, b)) {
+                    return p + i;
+                }
+                prev = b;
+            }
+            p += read;
+            buffer.clear();
+        }
+        return length;
+    }
+
+    private static void checkCharset(Charset charset) {
+        if (!Arrays.equals("\r\n".getBytes(charset), new byte[]{'\r', '\n'})) {
+            throw new IllegalArgumentException("Line breaks are not single bytes in " + charset.name() + ".");
+        }
+    }
+
+    private static void checkSplitSize(long splitSize) {
+        if (splitSize <= 0) {
+            throw new IllegalArgumentException("The split size must be positive.");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CsvInputSplit)) {
+            return false;
+        }
+        CsvInputSplit other = (CsvInputSplit) o;
+        return start == other.start && end == other.end && aligned == other.aligned && path.equals(other.path);
+    }
+
+    /**
+     * Return the position after the last byte of the split.
+     *
+     * @return The position.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Return the file of the split.
+     *
+     * @return The file.
+     */
+    public Path getPath() {
+        return Paths.get(path);
+    }
+
+    /**
+     * Return the position of the first byte of the split.
+     *
+     * @return The position.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * path.hashCode() + Long.hashCode(start)) + Long.hashCode(end);
+    }
+
+    /**
+     * Return {@code true} if a line starts at the byte that follows the specified one.
+     *
+     * @param prev The byte, or {@code -1} at the start of the scan.
+     * @param b    The byte that follows.
+     * @return {@code true} if a line starts at {@code b}.
+     */
+    private static boolean isBoundary(int prev, int b) {
+        return prev == '\n' || (prev == '\r' && b != '\n');
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading the lines of this split.
+     *
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link me.mneri.csv.format.Format}s.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     */
+    public <T> CsvReader<T> open(Charset charset, FormatProvider<?> provider, Deserializer<T> deserializer)
+            throws IOException {
+        return open(charset, provider, CsvOptions.defaultOptions(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading the lines of this split. Line numbers and positions of the
+     * reader are relative to the start of the split.
+     *
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link me.mneri.csv.format.Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if the charset doesn't encode line breaks as single bytes.
+     */
+    public <T> CsvReader<T> open(
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) throws IOException {
+        checkCharset(charset);
+        FileChannel channel = FileChannel.open(getPath(), StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            long from = aligned ? start : align(channel, start, length);
+            long to = aligned ? end : align(channel, end, length);
+            RangeChannel range = new RangeChannel(channel, from, Math.max(from, to));
+            ChannelReader rdr = new ChannelReader(range, charset, false, from);
+            return CsvReader.open(rdr, toString(), provider, options, deserializer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Split a file of the specified length in ranges of the specified size. No byte of the file is read: the ranges
+     * are moved to the next line break by the readers of the splits, assuming that quoted fields don't contain line
+     * breaks.
+     *
+     * @param path      The file.
+     * @param length    The length of the file, in bytes.
+     * @param splitSize The size of the splits, in bytes.
+     * @return The splits, in the order of the file.
+     * @throws IllegalArgumentException if the length is negative or the size is not positive.
+     */
+    public static List<CsvInputSplit> split(Path path, long length, long splitSize) {
+        checkSplitSize(splitSize);
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative.");
+        }
+        List<CsvInputSplit> splits = new ArrayList<>();
+        for (long start = 0; start < length; ) {
+            long end = length - start <= splitSize ? length : start + splitSize;
+            splits.add(new CsvInputSplit(path.toString(), start, end, false));
+            start = end;
+        }
+        return splits;
+    }
+
+    /**
+     * Split a file in ranges of the specified size, assuming that quoted fields don't contain line breaks.
+     *
+     * @param path      The file.
+     * @param splitSize The size of the splits, in bytes.
+     * @return The splits, in the order of the file.
+     * @throws IOException if an I/O error occurs.
+     * @see CsvInputSplit#split(Path, long, long)
+     */
+    public static List<CsvInputSplit> split(Path path, long splitSize) throws IOException {
+        return split(path, Files.size(path), splitSize);
+    }
+
+    /**
+     * Split a file in ranges of about the specified size, whose boundaries are line breaks outside of quotations. The
+     * whole file is read once to count the quotation characters.
+     *
+     * @param path      The file.
+     * @param splitSize The size of the splits, in bytes.
+     * @param quotation The quotation character, which must be an ASCII character.
+     * @return The splits, in the order of the file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static List<CsvInputSplit> splitQuoted(Path path, long splitSize, int quotation) throws IOException {
+        checkSplitSize(splitSize);
+        if (quotation <= 0 || quotation >= 0x80) {
+            throw new IllegalArgumentException("The quotation character must be an ASCII character.");
+        }
+        List<CsvInputSplit> splits = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE * 8);
+            byte[] bytes = buffer.array();
+            long start = 0;
+            long target = splitSize;
+            long p = 0;
+            int prev = -1;
+            boolean quoted = false;
+            int read;
+            while (target < length && (read = channel.read(buffer, p)) > 0) {
+                for (int i = 0; i < read && target < length; i++) {
+                    int b = bytes[i];
+                    if (p + i >= target && !quoted && isBoundary(prev, b)) {
+                        splits.add(new CsvInputSplit(path.toString(), start, p + i, true));
+                        start = p + i;
+                        target = (start / splitSize + 1) * splitSize;
+                    }
+                    if (b == quotation) {
+                        quoted = !quoted;
+                    }
+                    prev = b;
+                }
+                p += read;
+                buffer.clear();
+            }
+            if (start < length) {
+                splits.add(new CsvInputSplit(path.toString(), start, length, true));
+            }
+        }
+        return splits;
+    }
+
+    @Override
+    public String toString() {
+        return path + "[" + start + ", " + end + ")";
+    }
+
+    /**
+     * A channel reading a range of a file, with positional reads that leave the position of the file alone.
+     */
+    private static final class RangeChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeChannel(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int limit = dst.limit();
+            if (dst.remaining() > end - position) {
+                dst.limit(dst.position() + (int) (end - position));
+            }
+            try {
+                int read = channel.read(dst, position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+    }
+}
@@ -19,25 +19,40 @@
 package me.mneri.csv.reader;
 
 import static me.mneri.csv.format.Format.*;
+import static me.mneri.csv.reader.ReaderStats.*;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.deserializer.ReusingDeserializer;
 import me.mneri.csv.exception.CsvConversionException;
 import me.mneri.csv.exception.CsvException;
 import me.mneri.csv.exception.LineTooLongException;
+import me.mneri.csv.exception.SchemaViolationException;
 import me.mneri.csv.exception.UnexpectedCharacterException;
 import me.mneri.csv.format.Format;
 import me.mneri.csv.format.FormatProvider;
 import me.mneri.csv.format.MsExcelFormat;
-import me.mneri.csv.format.Rfc4180RelaxedFormat;
+import me.mneri.csv.option.CsvOptions;
 
 /**
  * Read csv streams and automatically transform lines into Java objects.
@@ -54,18 +69,43 @@ public class CsvReader<T> implements Closeable {
     private static final int MAX_LINE_SIZE = 32_768;
     private static final int MAX_READ_SIZE = 8_192;
 
-    private final char[] buffer = new char[MAX_LINE_SIZE];
     private final Deserializer<T> deserializer;
-    private final Format fmt;
+    private final ErrorHandler errorHandler;
     private final RecycledLineImpl line;
-    private final Reader rdr;
+    private final int maxErrors;
+    private final int maxLineLength;
+    private final BufferPool pool;
+    private final FormatProvider<? extends Format> provider;
+    private final MetricsRecorder recorder;
+    private final TypedRow row;
+    private final CharRange span = new CharRange();
 
-    private int lines;
+    private char[] buffer;
+    private LongSupplier bytesRead;
+    private ChannelReader channelReader;
+    private T element;
+    private int errors;
+    private ReaderEvents events = new ReaderEvents();
+    private Format fmt;
+    private FollowingReader follower;
+    private int formatState;
+    private long lines;
     private int mark;
     private int nextChar;
-    private int offset;
+    private long offset;
+    private Reader rdr;
+    private int removalCount;
+    private char[] removedChars = new char[16];
+    private int removedCount;
+    private int[] removalEnds = new int[16];
+    private int[] removals = new int[16];
+    private T reusable;
     private int size;
+    private String source;
     private int state = ELEMENT_NOT_PREPARED;
+    private boolean suspended;
+    private int suspendedStart;
+    private int suspendedState;
 
     /**
      * Return a new {@link CsvReader} in open state, reading from the specified file.
@@ -79,7 +119,136 @@ public class CsvReader<T> implements Closeable {
      */
     public static <T> CsvReader<T> open(File file, FormatProvider<?> provider, Deserializer<T> deserializer)
             throws FileNotFoundException {
-        return open(new FileReader(file), provider, deserializer);
+        return open(file, provider, CsvOptions.defaultOptions(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file.
+     *
+     * @param file         The file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws FileNotFoundException If the file does not exist.
+     */
+    public static <T> CsvReader<T> open(
+            File file,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) throws FileNotFoundException {
+        CsvReader<T> reader;
+        if (options.getMetrics() == null) {
+            reader = open(new FileReader(file), provider, options, deserializer);
+        } else {
+            // Bytes can only be counted below the decoder.
+            CountingInputStream counter = new CountingInputStream(new FileInputStream(file));
+            reader = open(new InputStreamReader(counter), provider, options, deserializer);
+            reader.countBytes(counter::getCount);
+        }
+        reader.source = file.getPath();
+        return reader;
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file.
+     *
+     * @param path         The file.
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link Format}s.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     * @see CsvReader#open(ReadableByteChannel, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    public static <T> CsvReader<T> open(
+            Path path,
+            Charset charset,
+            FormatProvider<?> provider,
+            Deserializer<T> deserializer) throws IOException {
+        return open(path, charset, provider, CsvOptions.defaultOptions(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file.
+     *
+     * @param path         The file.
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     * @see CsvReader#open(ReadableByteChannel, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    public static <T> CsvReader<T> open(
+            Path path,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) throws IOException {
+        ChannelReader rdr = new ChannelReader(FileChannel.open(path, StandardOpenOption.READ), charset, false);
+        return open(rdr, path.toString(), provider, options, deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified channel.
+     *
+     * @param channel      The channel.
+     * @param charset      The charset of the channel.
+     * @param provider     A provider of {@link Format}s.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @see CsvReader#open(ReadableByteChannel, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    public static <T> CsvReader<T> open(
+            ReadableByteChannel channel,
+            Charset charset,
+            FormatProvider<?> provider,
+            Deserializer<T> deserializer) {
+        return open(channel, charset, provider, CsvOptions.defaultOptions(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified channel. The channel must be in blocking
+     * mode.
+     * <p>
+     * A UTF-8 or UTF-16 byte order mark at the start of the channel is removed, and the charset it identifies takes
+     * precedence over the specified charset. ISO-8859-1 and US-ASCII bytes are turned into characters without a
+     * {@link java.nio.charset.CharsetDecoder}, which makes them the cheapest charsets to read.
+     *
+     * @param channel      The channel.
+     * @param charset      The charset of the channel.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     */
+    public static <T> CsvReader<T> open(
+            ReadableByteChannel channel,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) {
+        return open(new ChannelReader(channel, charset, false), null, provider, options, deserializer);
+    }
+
+    static <T> CsvReader<T> open(
+            ChannelReader rdr,
+            String source,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) {
+        CsvReader<T> reader = open(rdr, provider, options, deserializer);
+        reader.countBytes(rdr::getBytesRead);
+        reader.channelReader = rdr;
+        reader.source = source;
+        return reader;
     }
 
     /**
@@ -92,12 +261,282 @@ public class CsvReader<T> implements Closeable {
      * @return A new {@link CsvReader}, in open state.
      */
     public static <T> CsvReader<T> open(Reader rdr, FormatProvider<?> provider, Deserializer<T> deserializer) {
-        return new CsvReader<>(rdr, provider, new RecycledLineImpl(), deserializer);
+        return open(rdr, provider, CsvOptions.defaultOptions(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified reader.
+     *
+     * @param rdr          The reader.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     */
+    public static <T> CsvReader<T> open(
+            Reader rdr,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) {
+        return new CsvReader<>(rdr, provider, options, new RecycledLineImpl(), deserializer);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, following the specified file while other processes append to it.
+     * <p>
+     * Reaching the end of the file is not final for a reader in follow mode: {@link CsvReader#hasNext()} returns
+     * {@code false} until another complete line is written, and a line whose end hasn't been written yet is not
+     * returned. Use {@link CsvReader#await(long, TimeUnit)} to wait for the file to grow. The charset is handled as
+     * in {@link CsvReader#open(ReadableByteChannel, Charset, FormatProvider, CsvOptions, Deserializer)}.
+     *
+     * @param path         The file.
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static <T> CsvReader<T> follow(
+            Path path,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer) throws IOException {
+        FollowingReader follower = new FollowingReader(path, charset);
+        CsvReader<T> reader = open(follower, provider, options, deserializer);
+        reader.follower = follower;
+        reader.countBytes(follower::getBytesRead);
+        reader.source = path.toString();
+        return reader;
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, following the specified file while other processes append to it
+     * and resuming from the specified checkpoint.
+     *
+     * @param path         The file.
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     * @see CsvReader#follow(Path, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    public static <T> CsvReader<T> follow(
+            Path path,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        CsvReader<T> reader = follow(path, charset, provider, options, deserializer);
+        try {
+            reader.seek(checkpoint);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file and resuming from the specified
+     * checkpoint.
+     *
+     * @param file         The file.
+     * @param provider     A provider of {@link Format}s.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws FileNotFoundException If the file does not exist.
+     * @throws IOException           if an I/O error occurs.
+     */
+    public static <T> CsvReader<T> open(
+            File file,
+            FormatProvider<?> provider,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        return open(file, provider, CsvOptions.defaultOptions(), deserializer, checkpoint);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file and resuming from the specified
+     * checkpoint.
+     *
+     * @param file         The file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws FileNotFoundException If the file does not exist.
+     * @throws IOException           if an I/O error occurs.
+     */
+    public static <T> CsvReader<T> open(
+            File file,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        return open(new FileReader(file), provider, options, deserializer, checkpoint);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified file and resuming from the specified
+     * checkpoint.
+     *
+     * @param path         The file.
+     * @param charset      The charset of the file.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     * @see CsvReader#open(ReadableByteChannel, Charset, FormatProvider, CsvOptions, Deserializer, Checkpoint)
+     */
+    public static <T> CsvReader<T> open(
+            Path path,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        return open(FileChannel.open(path, StandardOpenOption.READ), path.toString(), charset, provider, options,
+                deserializer, checkpoint);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified channel and resuming from the specified
+     * checkpoint. The channel must be positioned at the beginning of the stream.
+     * <p>
+     * If the checkpoint holds a byte offset and the channel is a {@link SeekableByteChannel}, the channel is moved
+     * straight to the offset and the byte order mark is not looked for again: the charset must be the one the
+     * checkpoint was taken with. Otherwise the characters preceding the checkpoint are decoded and skipped without
+     * being parsed.
+     *
+     * @param channel      The channel.
+     * @param charset      The charset of the channel.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     * @see Checkpoint#getByteOffset()
+     */
+    public static <T> CsvReader<T> open(
+            ReadableByteChannel channel,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        return open(channel, null, charset, provider, options, deserializer, checkpoint);
+    }
+
+    private static <T> CsvReader<T> open(
+            ReadableByteChannel channel,
+            String source,
+            Charset charset,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        long byteOffset = checkpoint.getByteOffset();
+        if (byteOffset <= 0 || !(channel instanceof SeekableByteChannel)) {
+            CsvReader<T> reader = open(new ChannelReader(channel, charset, false), source, provider, options,
+                    deserializer);
+            try {
+                reader.seek(checkpoint);
+            } catch (IOException e) {
+                reader.close();
+                throw e;
+            }
+            return reader;
+        }
+        try {
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            long position = seekable.position() + byteOffset;
+            if (position > seekable.size()) {
+                throw new EOFException("The checkpoint is beyond the end of the stream.");
+            }
+            seekable.position(position);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        ChannelReader rdr = new ChannelReader(channel, charset, false, byteOffset);
+        CsvReader<T> reader = open(rdr, source, provider, options, deserializer);
+        reader.restore(checkpoint);
+        return reader;
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified reader and resuming from the specified
+     * checkpoint. The reader must be positioned at the beginning of the stream; the characters preceding the
+     * checkpoint are skipped without being parsed.
+     *
+     * @param rdr          The reader.
+     * @param provider     A provider of {@link Format}s.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static <T> CsvReader<T> open(
+            Reader rdr,
+            FormatProvider<?> provider,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        return open(rdr, provider, CsvOptions.defaultOptions(), deserializer, checkpoint);
+    }
+
+    /**
+     * Return a new {@link CsvReader} in open state, reading from the specified reader and resuming from the specified
+     * checkpoint. The reader must be positioned at the beginning of the stream; the characters preceding the
+     * checkpoint are skipped without being parsed.
+     *
+     * @param rdr          The reader.
+     * @param provider     A provider of {@link Format}s.
+     * @param options      Reading options.
+     * @param deserializer The deserializer, mapping CSV lines to Java objects.
+     * @param checkpoint   The checkpoint, as returned by {@link CsvReader#checkpoint()}.
+     * @param <T>          The type of object a CSV line should be mapped to.
+     * @return A new {@link CsvReader}, in open state.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static <T> CsvReader<T> open(
+            Reader rdr,
+            FormatProvider<?> provider,
+            CsvOptions options,
+            Deserializer<T> deserializer,
+            Checkpoint checkpoint) throws IOException {
+        CsvReader<T> reader = open(rdr, provider, options, deserializer);
+        try {
+            reader.seek(checkpoint);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
     }
 
     CsvReader(
             Reader rdr,
             FormatProvider<? extends Format> provider,
+            CsvOptions options,
             RecycledLineImpl line,
             Deserializer<T> deserializer) {
         // A FormatProvider is used instead of a plain Format because Formats can be stateful. Reusing a stateful Format
@@ -105,10 +544,74 @@ public class CsvReader<T> implements Closeable {
         // private, would now be shared between different streams of data. If the client uses frameworks like Spring
         // that encourage injection and instance reuse, this error might become very hard to spot. A FormatProvider does
         // very little and might look like a waste, but could save clients hours of debugging.
+        options.check();
         this.rdr = rdr;
+        this.provider = provider;
         this.fmt = provider.provide();
         this.line = line;
         this.deserializer = deserializer;
+        this.errorHandler = options.getErrorHandler();
+        this.maxErrors = options.getMaxErrors();
+        this.maxLineLength = options.getMaxLineLength();
+        this.pool = options.getBufferPool();
+        this.row = options.getSchema() == null ? null : new TypedRow(options.getSchema());
+        this.recorder = options.getMetrics() == null ? null : new MetricsRecorder(options.getMetrics());
+
+        line.setCaches(createCaches(options));
+        line.setLocale(options.getLocale() != null ? options.getLocale() : provider.getLocale());
+        line.setRow(row);
+    }
+
+    static StringCache[] createCaches(CsvOptions options) {
+        int[] columns = options.getDeduplicatedColumns();
+        int length = 0;
+        for (int column : columns) {
+            length = Math.max(length, column + 1);
+        }
+        StringCache[] caches = new StringCache[length];
+        for (int column : columns) {
+            caches[column] = new StringCache(options.getDeduplicationCacheSize());
+        }
+        return caches;
+    }
+
+    /**
+     * Wait until the followed file grows, or the specified time elapses. Once the file has grown,
+     * {@link CsvReader#hasNext()} can be invoked again to read the new lines.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout.
+     * @return {@code true} if the file has grown, {@code false} if the time elapsed.
+     * @throws IOException          if an I/O error occurs or the file has been truncated.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     * @see CsvReader#follow(Path, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    public boolean await(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        if (state == CLOSED) {
+            throw new IllegalStateException("The reader is closed.");
+        }
+        if (follower == null) {
+            throw new IllegalStateException("The reader is not following a file.");
+        }
+        return follower.await(unit.toNanos(timeout));
+    }
+
+    /**
+     * Return a checkpoint at the end of the last line returned by {@link CsvReader#next()} or skipped by
+     * {@link CsvReader#skip(int)}. A line which has only been prepared by {@link CsvReader#hasNext()} is not included.
+     *
+     * @return The checkpoint.
+     */
+    public Checkpoint checkpoint() {
+        long position = getPosition();
+        int snapshot = state == ELEMENT_PREPARED || suspended ? formatState : fmt.snapshot();
+        long byteOffset = -1;
+        if (channelReader != null) {
+            // The characters of the buffer past the checkpoint have been read from the channel, but are not part of it.
+            int index = (int) (position - offset);
+            byteOffset = channelReader.getByteOffset(buffer, index, size - index);
+        }
+        return new Checkpoint(position, getLineNumber(), snapshot, byteOffset);
     }
 
     /**
@@ -122,8 +625,24 @@ public class CsvReader<T> implements Closeable {
         if (state == CLOSED) {
             return;
         }
+        long records = getLineNumber();
         state = CLOSED;
-        rdr.close();
+        try {
+            rdr.close();
+        } finally {
+            releaseBuffer();
+            if (recorder != null) {
+                recorder.close();
+            }
+            reportClosed(records);
+        }
+    }
+
+    private void countBytes(LongSupplier bytesRead) {
+        this.bytesRead = bytesRead;
+        if (recorder != null) {
+            recorder.setBytesRead(bytesRead);
+        }
     }
 
     /**
@@ -142,6 +661,63 @@ public class CsvReader<T> implements Closeable {
         return buffer[nextChar++];
     }
 
+    /**
+     * Return the number of lines read so far: the lines returned by {@link CsvReader#next()}, skipped by
+     * {@link CsvReader#skip(int)} or reported to the error handler. A line which has only been prepared by
+     * {@link CsvReader#hasNext()} is not included.
+     *
+     * @return The number of lines.
+     */
+    public long getLineNumber() {
+        //@formatter:off
+        switch (state) {
+            case ELEMENT_NOT_PREPARED: return lines;
+            case ELEMENT_PREPARED:
+            case NO_SUCH_ELEMENT:      return lines - 1;
+            case CLOSED:
+            default:                   throw new IllegalStateException("The reader is closed.");
+        }
+        //@formatter:on
+    }
+
+    /**
+     * Return the number of characters preceding the end of the last line read.
+     *
+     * @return The number of characters.
+     * @see CsvReader#getLineNumber()
+     */
+    public long getPosition() {
+        //@formatter:off
+        switch (state) {
+            case ELEMENT_NOT_PREPARED: return offset + (suspended ? mark : nextChar);
+            case ELEMENT_PREPARED:     return offset + mark;
+            case NO_SUCH_ELEMENT:      return offset + nextChar;
+            case CLOSED:
+            default:                   throw new IllegalStateException("The reader is closed.");
+        }
+        //@formatter:on
+    }
+
+    /**
+     * Return the number of malformed lines skipped so far.
+     *
+     * @return The number of malformed lines.
+     * @see CsvOptions#setErrorHandler(ErrorHandler)
+     */
+    public int getErrorCount() {
+        return errors;
+    }
+
+    /**
+     * Return {@code true} if the reader follows a file.
+     *
+     * @return {@code true} if the reader follows a file, {@code false} otherwise.
+     * @see CsvReader#follow(Path, Charset, FormatProvider, CsvOptions, Deserializer)
+     */
+    boolean isFollowing() {
+        return follower != null;
+    }
+
     /**
      * Return {@code true} if the state returned by the {@link Format} includes at least one of the specified flags.
      *
@@ -153,6 +729,29 @@ public class CsvReader<T> implements Closeable {
         return (s & flags) != 0;
     }
 
+    /**
+     * Remove the specified characters from a field, moving each character that follows a removed one towards the start
+     * of the field. Each character of the field is moved at most once.
+     *
+     * @param buffer   The buffer.
+     * @param base     The position the positions of the removed characters are relative to.
+     * @param end      The position after the last character of the field.
+     * @param removals The positions of the characters to remove, in ascending order.
+     * @param first    The index of the first position of {@code removals} to use.
+     * @param count    The number of characters to remove.
+     * @return The position after the last character of the field, once the characters have been removed.
+     */
+    static int removeChars(char[] buffer, int base, int end, int[] removals, int first, int count) {
+        int write = base + removals[first];
+        for (int i = first; i < first + count; i++) {
+            int from = base + removals[i] + 1;
+            int to = i + 1 < first + count ? base + removals[i + 1] : end;
+            System.arraycopy(buffer, from, buffer, write, to - from);
+            write += to - from;
+        }
+        return write;
+    }
+
     /**
      * Return {@code true} if the state returned by the {@link Format} does not include any of the specified flags.
      *
@@ -167,6 +766,9 @@ public class CsvReader<T> implements Closeable {
     /**
      * Returns {@code true} if the reader has more elements (in other words, returns {@code true} if
      * {@link CsvReader#next()} would return an element rather than throwing an exception).
+     * <p>
+     * For a reader in follow mode, {@code false} means that no complete line has been written yet: the method can be
+     * invoked again after {@link CsvReader#await(long, TimeUnit)}.
      *
      * @return {@code true} if the reader has more elements.
      * @throws CsvException if the csv is not properly formatted.
@@ -175,7 +777,7 @@ public class CsvReader<T> implements Closeable {
     public boolean hasNext() throws CsvException, IOException {
         //@formatter:off
         switch (state) {
-            case ELEMENT_NOT_PREPARED: return prepareElement();
+            case ELEMENT_NOT_PREPARED: return prepareElement(true);
             case ELEMENT_PREPARED:     return true;
             case NO_SUCH_ELEMENT:      return false;
             case CLOSED:
@@ -187,16 +789,100 @@ public class CsvReader<T> implements Closeable {
     /**
      * Prepare and cache the next element.
      *
+     * @param convert {@code true} to convert the element according to the schema, if any.
      * @return {@code true} if an element has been successfully read, {@code false} otherwise.
      * @throws CsvException if the csv is not properly formatted.
      * @throws IOException  if an I/O error occurs.
      */
-    private boolean prepareElement() throws CsvException, IOException {
-        boolean prepared = parseLine(fmt);
-        state = prepared ? ELEMENT_PREPARED : NO_SUCH_ELEMENT;
+    private boolean prepareElement(boolean convert) throws CsvException, IOException {
+        boolean prepared;
+        do {
+            if (!suspended) {
+                formatState = fmt.snapshot();
+            }
+            prepared = recorder == null ? parseLine(fmt) : parseLineMeasured();
+        } while (prepared && convert
+                && ((row != null && !convertLine()) || (errorHandler != null && !deserializeLine())));
+        state = prepared ? ELEMENT_PREPARED : follower != null ? ELEMENT_NOT_PREPARED : NO_SUCH_ELEMENT;
         return prepared;
     }
 
+    /**
+     * Convert the line just parsed according to the schema. A line that doesn't conform to the schema is reported to
+     * the error handler like a malformed line.
+     *
+     * @return {@code true} if the line has been converted, {@code false} if it has been reported to the error handler.
+     * @throws SchemaViolationException if the line doesn't conform to the schema and it can't be reported.
+     */
+    private boolean convertLine() throws SchemaViolationException {
+        String violation = row.fill(line);
+        if (violation == null) {
+            return true;
+        }
+        if (errorHandler == null || errors >= maxErrors) {
+            throw new SchemaViolationException(lines, offset + mark, violation);
+        }
+        errors++;
+        reportLine();
+        return false;
+    }
+
+    /**
+     * Deserialize the line just parsed, when an error handler is set: deserializing the line as soon as it is parsed
+     * lets {@link CsvReader#hasNext()} skip the lines the deserializer fails on, which are reported to the error handler
+     * like malformed lines. A {@link ReusingDeserializer} fills the object passed to {@link CsvReader#next(Object)},
+     * if any.
+     *
+     * @return {@code true} if the line has been deserialized, {@code false} if it has been reported to the error
+     * handler.
+     * @throws CsvConversionException if the deserializer fails and the line can't be reported.
+     */
+    private boolean deserializeLine() throws CsvConversionException {
+        try {
+            element = deserialize(reusable);
+            reusable = null;
+            return true;
+        } catch (Exception e) {
+            if (errors >= maxErrors) {
+                throw new CsvConversionException(line, e);
+            }
+            errors++;
+            reportLine();
+            return false;
+        }
+    }
+
+    /**
+     * Read the next line of the file as header. The column names of the header are used to resolve the
+     * {@link ColumnRef}s passed to the {@link RecycledLine} of the following lines. This method is usually invoked
+     * once, right after the reader has been opened.
+     *
+     * @return The header.
+     * @throws CsvException if the csv is not properly formatted.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public Header readHeader() throws CsvException, IOException {
+        // The header isn't converted according to the schema, unless it has already been prepared by hasNext().
+        if (state == ELEMENT_NOT_PREPARED ? !prepareElement(false) : !hasNext()) {
+            throw new NoSuchElementException();
+        }
+        state = ELEMENT_NOT_PREPARED;
+        Header header = Header.of(line);
+        line.setHeader(header);
+        return header;
+    }
+
+    /**
+     * Use the specified header to resolve the {@link ColumnRef}s passed to the {@link RecycledLine} of the following
+     * lines. This method is useful for files that don't have a header line or when reading is resumed from a
+     * {@link Checkpoint} past the header.
+     *
+     * @param header The header.
+     */
+    public void setHeader(Header header) {
+        line.setHeader(header);
+    }
+
     /**
      * Return the next element in the reader.
      *
@@ -208,76 +894,504 @@ public class CsvReader<T> implements Closeable {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
+        state = ELEMENT_NOT_PREPARED;
+        if (errorHandler != null) {
+            return takeElement();
+        }
         try {
-            state = ELEMENT_NOT_PREPARED;
-            return deserializer.deserialize(line);
+            return deserialize(null);
+        } catch (Exception e) {
+            throw new CsvConversionException(line, e);
+        }
+    }
+
+    /**
+     * Return the next element in the reader, reusing the specified object if possible. If the deserializer of the
+     * reader is a {@link ReusingDeserializer}, the line is deserialized into {@code reuse}, which is returned; otherwise
+     * a new object is returned, as {@link #next()} does. Callers must use the returned object, and must not retain
+     * {@code reuse} across calls.
+     * <p>
+     * With an error handler, {@link #hasNext()} deserializes the line in advance, to skip the lines the deserializer
+     * fails on. If {@link #hasNext()} has been invoked since the previous call, the returned object is the one passed
+     * to the previous call (or a new object, the first time) and {@code reuse} is filled with the following line;
+     * otherwise the line is deserialized into {@code reuse} as usual.
+     *
+     * @param reuse The object to fill with the next line, or {@code null} to return a new object.
+     * @return The next element.
+     * @throws CsvException if the csv is not properly formatted.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public T next(T reuse) throws CsvException, IOException {
+        if (reuse == null || !(deserializer instanceof ReusingDeserializer)) {
+            return next();
+        }
+        if (errorHandler != null) {
+            return takeElement(reuse);
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        state = ELEMENT_NOT_PREPARED;
+        try {
+            return deserialize(reuse);
         } catch (Exception e) {
             throw new CsvConversionException(line, e);
         }
     }
 
+    /**
+     * Deserialize the current line.
+     *
+     * @param target The object to fill with a {@link ReusingDeserializer}, or {@code null} to return a new object.
+     * @return The element.
+     * @throws Exception if the deserializer fails.
+     */
+    private T deserialize(T target) throws Exception {
+        Object event = events.beginDeserialize();
+        T result;
+        if (target == null) {
+            result = recorder == null ? deserializer.deserialize(line) : deserializeMeasured();
+        } else {
+            if (recorder == null) {
+                ((ReusingDeserializer<T>) deserializer).deserialize(line, target);
+            } else {
+                deserializeMeasured(target);
+            }
+            result = target;
+        }
+        if (event != null) {
+            events.endDeserialize(event, lines);
+        }
+        return result;
+    }
+
+    private T takeElement() {
+        T result = element;
+        element = null;
+        return result;
+    }
+
+    /**
+     * Return the next element, deserialized by {@link CsvReader#hasNext()} because an error handler is set. If the
+     * line hasn't been prepared yet, it is deserialized straight into {@code reuse}; otherwise {@code reuse} is kept to
+     * be filled with the following line.
+     *
+     * @param reuse The object to fill.
+     * @return The next element.
+     * @throws CsvException if the csv is not properly formatted.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private T takeElement(T reuse) throws CsvException, IOException {
+        if (state == ELEMENT_NOT_PREPARED) {
+            reusable = reuse;
+        }
+        if (!hasNext()) {
+            reusable = null;
+            throw new NoSuchElementException();
+        }
+        state = ELEMENT_NOT_PREPARED;
+        T result = takeElement();
+        if (result != reuse) {
+            reusable = reuse;
+        }
+        return result;
+    }
+
+    private T deserializeMeasured() throws Exception {
+        long start = System.nanoTime();
+        try {
+            return deserializer.deserialize(line);
+        } finally {
+            recorder.values[DESERIALIZE_TIME] += System.nanoTime() - start;
+        }
+    }
+
+    private void deserializeMeasured(T target) throws Exception {
+        long start = System.nanoTime();
+        try {
+            ((ReusingDeserializer<T>) deserializer).deserialize(line, target);
+        } finally {
+            recorder.values[DESERIALIZE_TIME] += System.nanoTime() - start;
+        }
+    }
+
     private boolean parseLine(Format fmt) throws CsvException, IOException {
-        int s = fmt.base();
-        int start = -1, length;
+        if (follower != null) {
+            return parseAppendedLine(fmt);
+        }
 
-        line.reset();
-        mark = nextChar;
+        int s;
 
         do {
-            while (isNoneSet(s = fmt.consume(s, getNextChar()), ANY))
-                ; // Intentionally empty
+            s = fmt.base();
+            int start = -1;
 
-            if (isAnySet(s, SFH)) {
-                start = (nextChar - 1) + offset;
+            line.reset();
+            mark = nextChar;
+            removalCount = 0;
+            removedCount = 0;
+
+            do {
+                while (isNoneSet(s = fmt.consume(s, getNextChar()), ANY))
+                    ; // Intentionally empty
+
+                start = performActions(s, start);
+            } while (isNoneSet(s, ELH | ERH | STP));
+
+            lines++;
+        } while (isAnySet(s, ERH) && recover());
+
+        if (isAnySet(s, ERH)) {
+            throw new UnexpectedCharacterException(lines, offset + nextChar - 1, buffer[nextChar - 1]);
+        }
+        // The last line of the stream might not be terminated by a new-line character.
+        return isNoneSet(s, STP) || nextChar > mark;
+    }
+
+    /**
+     * Parse the next line of a file in follow mode. When the end of the file is reached the state of the parser is
+     * saved, and parsing is resumed from the same point once the file has grown.
+     *
+     * @param fmt The format.
+     * @return {@code true} if a complete line has been parsed, {@code false} if the end of the file has been reached.
+     * @throws CsvException if the csv is not properly formatted.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private boolean parseAppendedLine(Format fmt) throws CsvException, IOException {
+        int s;
+
+        do {
+            int start;
+
+            if (suspended) {
+                suspended = false;
+                s = suspendedState;
+                start = suspendedStart;
+            } else {
+                s = fmt.base();
+                start = -1;
+                formatState = fmt.snapshot();
+                line.reset();
+                mark = nextChar;
+                removalCount = 0;
+                removedCount = 0;
             }
-            if (isAnySet(s, EFH | EFB)) {
-                length = nextChar + offset - (isAnySet(s, EFB) ? 2 : 1) - start;
-                line.addField(new String(buffer, start - offset, length));
+
+            do {
+                int c;
+                do {
+                    // The end of the file is never fed to the format: it would end the line.
+                    if ((c = getNextChar()) == -1) {
+                        suspended = true;
+                        suspendedState = s;
+                        suspendedStart = start;
+                        return false;
+                    }
+                } while (isNoneSet(s = fmt.consume(s, c), ANY));
+
+                start = performActions(s, start);
+            } while (isNoneSet(s, ELH | ERH | STP));
+
+            lines++;
+        } while (isAnySet(s, ERH) && recover());
+
+        if (isAnySet(s, ERH)) {
+            throw new UnexpectedCharacterException(lines, offset + nextChar - 1, buffer[nextChar - 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Perform the actions of the specified state on the line being parsed.
+     *
+     * @param s     The state, as returned by {@link Format#consume(int, int)}.
+     * @param start The start of the current field, relative to the start of the line.
+     * @return The start of the current field, after the actions have been performed.
+     */
+    private int performActions(int s, int start) {
+        // Fields start relative to the line, which stays valid when the line is moved to the beginning of the buffer.
+        // Absolute positions are only computed when they are asked for, so that they can be longs at no cost.
+        // The end of the stream is consumed by the format but not by the buffer: it is given the next position.
+        int next = isAnySet(s, STP) ? nextChar + 1 : nextChar;
+        if (isAnySet(s, SFH)) {
+            start = (next - 1) - mark;
+        }
+        if (isAnySet(s, EFH | EFB)) {
+            int end = next - (isAnySet(s, EFB) ? 2 : 1);
+            if (removalCount > removedCount) {
+                // The end of the moved characters is kept, so that the line can be restored if it is reported.
+                for (int i = removedCount; i < removalCount; i++) {
+                    removalEnds[i] = i + 1 < removalCount ? removals[i + 1] : end - mark;
+                }
+                end = removeChars(buffer, mark, end, removals, removedCount, removalCount - removedCount);
+                removedCount = removalCount;
             }
-            if (isAnySet(s, RLR)) {
-                nextChar--;
+            line.addField(mark + start, end - (mark + start));
+        }
+        if (isAnySet(s, RLR)) {
+            nextChar--;
+        }
+        if (isAnySet(s, RCB)) {
+            // Removed characters are only recorded here, and removed all at once when the field ends: removing them
+            // one by one would move the field once per escaped quote.
+            if (removalCount == removals.length) {
+                removals = Arrays.copyOf(removals, removalCount << 1);
+                removalEnds = Arrays.copyOf(removalEnds, removalCount << 1);
+                removedChars = Arrays.copyOf(removedChars, removalCount << 1);
             }
-            if (isAnySet(s, RCB)) {
-                shiftBuffer(start, start + 1, (nextChar - 2) - start);
-                start++;
+            removedChars[removalCount] = buffer[nextChar - 2];
+            removals[removalCount++] = (nextChar - 2) - mark;
+            if (recorder != null) {
+                recorder.values[ESCAPED_QUOTES]++;
             }
-        } while (isNoneSet(s, ELH | ERH | STP));
+        }
+        return start;
+    }
 
-        lines++;
+    private boolean parseLineMeasured() throws CsvException, IOException {
+        long[] values = recorder.values;
+        long readTime = values[READ_TIME];
+        long start = System.nanoTime();
+        boolean parsed = parseLine(fmt);
+        // Reads happen while parsing: their time is accounted separately.
+        values[PARSE_TIME] += System.nanoTime() - start - (values[READ_TIME] - readTime);
+        if (parsed) {
+            values[RECORDS]++;
+            values[FIELDS] += line.getFieldCount();
+        }
+        return parsed;
+    }
 
-        if (isNoneSet(s, STP | ERH)) {
-            return true;
-        } else if (isAnySet(s, ERH)) {
-            throw new UnexpectedCharacterException(lines, buffer[nextChar - 1]);
-        } else {
+    /**
+     * Skip the rest of a malformed line and report the line to the error handler. The next line is assumed to start
+     * after the first new-line character.
+     *
+     * @return {@code true} if the line has been skipped, {@code false} if there is no error handler or the maximum
+     * number of errors has been reached.
+     * @throws CsvException if the line is too long.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private boolean recover() throws CsvException, IOException {
+        if (errorHandler == null || errors >= maxErrors) {
             return false;
         }
+        if (nextChar == mark || buffer[nextChar - 1] != '\n') {
+            int c;
+            while ((c = getNextChar()) != '\n' && c != -1)
+                ; // Intentionally empty
+        }
+        errors++;
+        reportLine();
+        return true;
+    }
+
+    /**
+     * Report the current line to the error handler as it has been read. The characters removed from the fields that
+     * have ended, such as the first quote of an escaped quote, are put back in place first: lines are only restored
+     * when they are reported, so the lines that are read correctly pay nothing for it.
+     */
+    private void reportLine() {
+        int last = removedCount;
+        while (last > 0) {
+            // The removals of a field are undone together, from the last one, since removeChars() moved the
+            // characters of each field towards its start.
+            int first = last - 1;
+            while (first > 0 && removalEnds[first - 1] == removals[first]) {
+                first--;
+            }
+            for (int i = last - 1; i >= first; i--) {
+                int to = mark + removals[i] + 1;
+                int shift = i - first + 1;
+                System.arraycopy(buffer, to - shift, buffer, to, mark + removalEnds[i] - to);
+                buffer[mark + removals[i]] = removedChars[i];
+            }
+            last = first;
+        }
+        removedCount = 0;
+        span.set(buffer, mark, nextChar - mark);
+        errorHandler.onError(lines, offset + mark, span);
     }
 
     private int performRead() throws IOException, LineTooLongException {
+        if (buffer == null) {
+            // The buffer is borrowed lazily, so that readers which have been opened but not used yet don't hold memory.
+            setBuffer(pool == null ? new char[MAX_LINE_SIZE] : pool.acquire(MAX_LINE_SIZE));
+        }
         if (buffer.length - size < MAX_READ_SIZE) {
             int length = size - mark;
-            shiftBuffer(mark, 0, length);
+            int capacity = buffer.length;
+            if (recorder != null) {
+                recorder.values[BUFFER_SHIFTS]++;
+            }
+            if (buffer.length > MAX_LINE_SIZE && length <= MAX_LINE_SIZE - MAX_READ_SIZE) {
+                // The long line that made the buffer grow is over: large buffers are only held while they are needed.
+                moveBuffer(MAX_LINE_SIZE, length);
+            } else if (buffer.length - length < MAX_READ_SIZE) {
+                // The line is moved straight to the larger buffer: shifting it first would copy it twice.
+                int grown = buffer.length << 1;
+                if (length >= maxLineLength || grown < 0 || (pool != null && !pool.fits(grown))) {
+                    throw new LineTooLongException(lines + 1, offset + mark);
+                }
+                moveBuffer(grown, length);
+            } else {
+                shiftBuffer(mark, 0, length);
+            }
+            line.shift(mark);
             nextChar = size = length;
             offset += mark;
+            mark = 0;
+            events.bufferMoved(capacity, buffer.length, size);
         }
-        if (size == buffer.length) {
-            throw new LineTooLongException(lines);
-        }
-        int read;
-        if ((read = rdr.read(buffer, size, Math.min(MAX_READ_SIZE, buffer.length - size))) < 0) {
+        int read = recorder == null ? read() : readMeasured();
+        if (read < 0) {
             return -1;
         }
         size += read;
+        events.read(offset + size, lines);
         return 0;
     }
 
+    private int read() throws IOException {
+        return rdr.read(buffer, size, Math.min(MAX_READ_SIZE, buffer.length - size));
+    }
+
+    private int readMeasured() throws IOException {
+        long[] values = recorder.values;
+        long start = System.nanoTime();
+        int read = read();
+        values[READ_TIME] += System.nanoTime() - start;
+        values[READ_CALLS]++;
+        if (read > 0) {
+            values[CHARS_READ] += read;
+        }
+        recorder.flush();
+        return read;
+    }
+
+    /**
+     * Move the current line to the beginning of a new buffer of the specified length, and give the old buffer back.
+     *
+     * @param length     The length of the new buffer.
+     * @param lineLength The number of characters of the current line.
+     * @throws IOException if the thread is interrupted while waiting for the pool.
+     */
+    private void moveBuffer(int length, int lineLength) throws IOException {
+        char[] current = buffer;
+        char[] moved;
+        if (pool == null) {
+            moved = new char[length];
+        } else if ((moved = pool.tryAcquire(length)) == null) {
+            // A reader waiting for the pool while holding a buffer could wait for itself forever: the current buffer is
+            // given up before waiting, and only read until the line has been copied.
+            pool.discard(current);
+            setBuffer(null);
+            moved = pool.acquire(length);
+        }
+        System.arraycopy(current, mark, moved, 0, lineLength);
+        if (buffer != null && pool != null) {
+            pool.release(current);
+        }
+        setBuffer(moved);
+    }
+
+    private void reportClosed(long records) {
+        events.closed(source, bytesRead == null ? -1 : bytesRead.getAsLong(), offset + size, records);
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null && pool != null) {
+            pool.release(buffer);
+        }
+        setBuffer(null);
+    }
+
+    private void setBuffer(char[] buffer) {
+        this.buffer = buffer;
+        line.setBuffer(buffer);
+    }
+
+    /**
+     * Start reading from the specified reader, as if this {@link CsvReader} was newly opened. The current reader is
+     * closed, while the buffer and the deduplication caches are kept for the new input. This method can be invoked on a
+     * closed {@link CsvReader}, in which case a new buffer is borrowed from the pool, if any, on the first read.
+     * <p>
+     * If the reader collects metrics, the statistics of the current input are reported as those of a closed reader and
+     * the counters start again from zero.
+     *
+     * @param rdr The new reader.
+     * @throws IOException if an I/O error occurs while closing the current reader.
+     */
+    public void reset(Reader rdr) throws IOException {
+        if (state != CLOSED) {
+            long records = getLineNumber();
+            this.rdr.close();
+            if (recorder != null) {
+                recorder.close();
+            }
+            reportClosed(records);
+        }
+        if (recorder != null) {
+            recorder.reset();
+        }
+        this.rdr = rdr;
+        bytesRead = null;
+        channelReader = null;
+        element = null;
+        reusable = null;
+        events = new ReaderEvents();
+        source = null;
+        fmt = provider.provide();
+        follower = null;
+        suspended = false;
+        line.reset();
+        line.setHeader(null);
+        errors = 0;
+        formatState = 0;
+        lines = 0;
+        mark = 0;
+        nextChar = 0;
+        offset = 0;
+        size = 0;
+        state = ELEMENT_NOT_PREPARED;
+    }
+
+    /**
+     * Move the reader to the specified checkpoint. The reader must be at the beginning of the stream.
+     *
+     * @param checkpoint The checkpoint.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void seek(Checkpoint checkpoint) throws IOException {
+        long remaining = checkpoint.getPosition();
+        while (remaining > 0) {
+            long skipped = rdr.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("The checkpoint is beyond the end of the stream.");
+            }
+            remaining -= skipped;
+        }
+        restore(checkpoint);
+    }
+
+    /**
+     * Take the position, the line number and the state of the format of the specified checkpoint, without moving the
+     * reader.
+     *
+     * @param checkpoint The checkpoint.
+     */
+    private void restore(Checkpoint checkpoint) {
+        offset = checkpoint.getPosition();
+        lines = checkpoint.getLineNumber();
+        fmt.restore(checkpoint.getFormatState());
+    }
+
     private void shiftBuffer(int source, int dest, int length) {
         System.arraycopy(buffer, source, buffer, dest, length);
     }
 
     /**
-     * Skip the next elements of the reader.
+     * Skip the next elements of the reader. A reader in follow mode skips fewer elements if the end of the file is
+     * reached.
      *
      * @param n The number of elements to skip.
      * @throws CsvException if the csv is not properly formatted.
@@ -291,74 +1405,53 @@ public class CsvReader<T> implements Closeable {
                 if (--toSkip == 0) {
                     return;
                 }
+                break;
             case NO_SUCH_ELEMENT:
                 return;
             case CLOSED:
                 throw new IllegalStateException("The reader is closed.");
         }
-        state = skipLines(toSkip) ? ELEMENT_NOT_PREPARED : NO_SUCH_ELEMENT;
+        state = skipLines(toSkip) || follower != null ? ELEMENT_NOT_PREPARED : NO_SUCH_ELEMENT;
     }
 
     protected boolean skipLines(int n) throws CsvException, IOException {
-        int s = fmt.base();
-        mark = nextChar;
-        int skipped = 0;
-
-        do {
-            while (isNoneSet(s = fmt.consume(s, getNextChar()), ELH | ERH | STP | RLR))
-                ; // Intentionally empty
-
-            if (isAnySet(s, RLR)) {
-                nextChar--;
+        for (int i = 0; i < n; i++) {
+            if (!skipLine()) {
+                return false;
+            }
+            if (recorder != null) {
+                recorder.values[RECORDS]++;
             }
-        } while (++skipped <= n && isNoneSet(s, ERH | STP));
-
-        lines += skipped;
-
-        if (isNoneSet(s, STP | ERH)) {
-            return true;
-        } else if (isAnySet(s, ERH)) {
-            throw new UnexpectedCharacterException(lines, buffer[nextChar - 1]);
-        } else {
-            return false;
         }
+        return true;
     }
 
-    public static void main(String... args) throws IOException, CsvException {
-        final int warmup = 16;
-        for (int i = 0; i < warmup; i++) {
-            execute();
-        }
-        System.out.println("-----");
-        final int runs = 32;
-        long total = 0;
-        for (int i = 0; i < runs; i++) {
-            total += execute();
+    private boolean skipLine() throws CsvException, IOException {
+        if (follower != null) {
+            return parseAppendedLine(fmt);
         }
-        System.out.println(total / runs);
-    }
 
-    private static long execute() throws IOException, CsvException {
-        long blackhole = 0;
-        File file = new File("/home/nerim313/Downloads/worldcitiespop.csv");
-        Deserializer<Integer> deserializer = line -> {
-            int hashCode = 0;
-            int count = line.getFieldCount();
-            for (int i = 0; i < count; i++) {
-                String s = line.getString(i);
-                hashCode ^= s != null ? s.hashCode() : 0;
-            }
-            return hashCode;
-        };
+        int s;
 
-        try (CsvReader<Integer> csv = CsvReader.open(file, new Rfc4180RelaxedFormat.Provider(), deserializer)) {
-            long start = System.currentTimeMillis();
-            while (csv.hasNext()) {
-                blackhole ^= csv.next();
-            }
-            long end = System.currentTimeMillis();
-            System.out.println((end - start) + " [" + blackhole + "]");
-            return end - start;
+        do {
+            s = fmt.base();
+            mark = nextChar;
+
+            do {
+                while (isNoneSet(s = fmt.consume(s, getNextChar()), ELH | ERH | STP | RLR))
+                    ; // Intentionally empty
+
+                if (isAnySet(s, RLR)) {
+                    nextChar--;
+                }
+            } while (isNoneSet(s, ELH | ERH | STP));
+
+            lines++;
+        } while (isAnySet(s, ERH) && recover());
+
+        if (isAnySet(s, ERH)) {
+            throw new UnexpectedCharacterException(lines, offset + nextChar - 1, buffer[nextChar - 1]);
         }
+        return isNoneSet(s, STP) || nextChar > mark;
     }
 }
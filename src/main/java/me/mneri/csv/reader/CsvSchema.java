@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.util.Arrays;
+
+/**
+ * The expected layout of the lines of a csv file: the type, nullability, format and default value of each column. A
+ * schema is bound to a reader through {@link me.mneri.csv.option.CsvOptions#setSchema(CsvSchema)}: the reader resolves
+ * the converter of each column once, converts every line as soon as it has been parsed and exposes the values through
+ * {@link RecycledLine#getRow()}. Lines that don't conform to the schema are reported as parsing errors.
+ * <p>
+ * Example:
+ * <pre>
+ * CsvSchema schema = CsvSchema.of(
+ *         CsvSchema.column("id", ColumnType.LONG).nullable(false),
+ *         CsvSchema.column("color", ColumnType.INTEGER).radix(16).defaultValue(0),
+ *         CsvSchema.column("name", ColumnType.STRING));
+ * </pre>
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class CsvSchema {
+    private final Column[] columns;
+
+    private CsvSchema(Column[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Return a new nullable column with the specified name and type, without default value.
+     *
+     * @param name The name of the column.
+     * @param type The type of the column.
+     * @return The column.
+     */
+    public static Column column(String name, ColumnType type) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        if (type == null) {
+            throw new NullPointerException("type");
+        }
+        return new Column(name, type, true, 10, null);
+    }
+
+    /**
+     * Return the column at the specified index.
+     *
+     * @param i The index of the column.
+     * @return The column.
+     */
+    public Column getColumn(int i) {
+        return columns[i];
+    }
+
+    /**
+     * Return a new schema with the specified columns, in the order they are found in the file.
+     *
+     * @param columns The columns.
+     * @return The schema.
+     */
+    public static CsvSchema of(Column... columns) {
+        Column[] copy = columns.clone();
+        for (Column column : copy) {
+            if (column == null) {
+                throw new NullPointerException("column");
+            }
+        }
+        return new CsvSchema(copy);
+    }
+
+    /**
+     * Return the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(columns);
+    }
+
+    /**
+     * A column of a {@link CsvSchema}. Columns are immutable: each of the configuration methods returns a new column.
+     */
+    public static final class Column {
+        private final Object defaultValue;
+        private final String name;
+        private final boolean nullable;
+        private final int radix;
+        private final ColumnType type;
+
+        private Column(String name, ColumnType type, boolean nullable, int radix, Object defaultValue) {
+            this.defaultValue = defaultValue;
+            this.name = name;
+            this.nullable = nullable;
+            this.radix = radix;
+            this.type = type;
+        }
+
+        /**
+         * Return a copy of this column with the specified default value. The default value replaces missing values,
+         * that are empty fields and fields missing at the end of a line.
+         *
+         * @param defaultValue The default value, of the Java type of the column, or {@code null} for no default.
+         * @return The column.
+         * @throws IllegalArgumentException if the value is not of the Java type of the column.
+         */
+        public Column defaultValue(Object defaultValue) {
+            if (defaultValue != null && !type.getJavaType().isInstance(defaultValue)) {
+                throw new IllegalArgumentException("Not a " + type.getJavaType().getSimpleName() + ": " + defaultValue);
+            }
+            return new Column(name, type, nullable, radix, defaultValue);
+        }
+
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRadix() {
+            return radix;
+        }
+
+        public ColumnType getType() {
+            return type;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        /**
+         * Return a copy of this column that either accepts or rejects missing values without default.
+         *
+         * @param nullable {@code false} to reject missing values.
+         * @return The column.
+         */
+        public Column nullable(boolean nullable) {
+            return new Column(name, type, nullable, radix, defaultValue);
+        }
+
+        /**
+         * Return a copy of this column whose values are parsed in the specified radix. Only integral columns have a
+         * radix.
+         *
+         * @param radix The radix.
+         * @return The column.
+         * @throws IllegalArgumentException if the column isn't integral or the radix is out of range.
+         */
+        public Column radix(int radix) {
+            if (!type.isIntegral() || radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+                throw new IllegalArgumentException("Illegal radix for " + type + ": " + radix);
+            }
+            return new Column(name, type, nullable, radix, defaultValue);
+        }
+
+        @Override
+        public String toString() {
+            return name + ':' + type;
+        }
+    }
+}
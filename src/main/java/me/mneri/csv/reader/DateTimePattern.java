@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+/**
+ * A fixed-width date-time pattern, like {@code dd/MM/yyyy HH:mm:ss}, compiled once and matched directly against the
+ * characters of a field by the temporal getters of {@link RecycledLine}. The supported letters are:
+ * <ul>
+ * <li>{@code yyyy} or {@code yy}: the year; two-digit years are in the range 2000-2099;</li>
+ * <li>{@code MM}: the month of the year;</li>
+ * <li>{@code dd}: the day of the month;</li>
+ * <li>{@code HH}: the hour of the day;</li>
+ * <li>{@code mm}: the minute of the hour;</li>
+ * <li>{@code ss}: the second of the minute;</li>
+ * <li>{@code S} to {@code SSSSSSSSS}: the fraction of second.</li>
+ * </ul>
+ * Any other character, except letters, must be found as is in the field. Fields must have the same length as the
+ * pattern.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class DateTimePattern {
+    static final int YEAR = 0;
+    static final int MONTH = 1;
+    static final int DAY = 2;
+    static final int HOUR = 3;
+    static final int MINUTE = 4;
+    static final int SECOND = 5;
+    static final int FRACTION = 6;
+
+    private static final String LETTERS = "yMdHmsS";
+
+    final int datePrefix;
+    final int[] positions = {-1, -1, -1, -1, -1, -1, -1};
+    final int[] widths = new int[7];
+    private final String pattern;
+
+    private DateTimePattern(String pattern) {
+        this.pattern = pattern;
+
+        for (int i = 0; i < pattern.length(); ) {
+            char c = pattern.charAt(i);
+            int j = i + 1;
+            while (j < pattern.length() && pattern.charAt(j) == c) {
+                j++;
+            }
+            int field = LETTERS.indexOf(c);
+            if (field >= 0) {
+                int width = j - i;
+                //@formatter:off
+                boolean valid = field == YEAR     ? width == 2 || width == 4 :
+                                field == FRACTION ? width <= 9 :
+                                                    width == 2;
+                //@formatter:on
+                if (!valid || positions[field] >= 0) {
+                    throw new IllegalArgumentException("Illegal pattern: " + pattern);
+                }
+                positions[field] = i;
+                widths[field] = width;
+            } else if (Character.isLetter(c)) {
+                throw new IllegalArgumentException("Illegal pattern: " + pattern);
+            }
+            i = j;
+        }
+
+        if (positions[YEAR] < 0 || positions[MONTH] < 0 || positions[DAY] < 0) {
+            throw new IllegalArgumentException("Pattern without date: " + pattern);
+        }
+
+        // The date can be cached on the prefix of the field if it precedes all the time fields.
+        int dateEnd = 0;
+        for (int field = YEAR; field <= DAY; field++) {
+            dateEnd = Math.max(dateEnd, positions[field] + widths[field]);
+        }
+        int timeStart = pattern.length();
+        for (int field = HOUR; field <= FRACTION; field++) {
+            if (positions[field] >= 0) {
+                timeStart = Math.min(timeStart, positions[field]);
+            }
+        }
+        datePrefix = dateEnd <= timeStart ? dateEnd : 0;
+    }
+
+    char charAt(int i) {
+        return pattern.charAt(i);
+    }
+
+    boolean isLiteral(int i) {
+        return LETTERS.indexOf(pattern.charAt(i)) < 0;
+    }
+
+    int length() {
+        return pattern.length();
+    }
+
+    /**
+     * Compile the specified pattern.
+     *
+     * @param pattern The pattern.
+     * @return The compiled pattern.
+     * @throws IllegalArgumentException if the pattern is not valid.
+     */
+    public static DateTimePattern of(String pattern) {
+        return new DateTimePattern(pattern);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
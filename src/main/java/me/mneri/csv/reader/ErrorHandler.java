@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+/**
+ * Receive the malformed lines skipped by a {@link CsvReader}. When an error handler is set, the reader doesn't throw an
+ * exception on a malformed line: it skips the line up to the next new-line character, reports it to the handler and
+ * continues with the following line. Lines that don't conform to the schema, or that the deserializer fails on, are
+ * reported in the same way.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see me.mneri.csv.option.CsvOptions#setErrorHandler(ErrorHandler)
+ */
+@FunctionalInterface
+public interface ErrorHandler {
+    /**
+     * Handle a malformed line.
+     * <p>
+     * The characters of the line are only valid for the duration of the call because the reader reuses its buffer;
+     * clients wishing to keep them must call {@link CharSequence#toString()}.
+     *
+     * @param lineNumber The number of the line.
+     * @param position   The number of characters preceding the line.
+     * @param raw        The characters of the line, including the line terminator.
+     */
+    void onError(long lineNumber, long position, CharSequence raw);
+}
@@ -0,0 +1,132 @@
+package me.mneri.csv.reader;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reader of a file that other processes keep appending to. Reaching the end of the file is not final: the reader
+ * returns {@code -1}, and returns the new characters once the file has grown. Bytes of an incomplete character at the
+ * end of the file are kept until the rest of the character is written.
+ *
+ * @see ChannelReader
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class FollowingReader extends Reader {
+    private static final long MAX_BACKOFF = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long MIN_BACKOFF = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final FileChannel channel;
+    private final Path path;
+    private final ChannelReader reader;
+    private WatchService watcher;
+    private boolean watcherUnavailable;
+
+    FollowingReader(Path path, Charset charset) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.reader = new ChannelReader(channel, charset, true);
+    }
+
+    /**
+     * Wait until the file grows past the bytes read so far.
+     *
+     * @param nanos The maximum time to wait, in nanoseconds.
+     * @return {@code true} if the file has grown, {@code false} if the time elapsed.
+     * @throws IOException          if an I/O error occurs or the file has been truncated.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    boolean await(long nanos) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + nanos;
+        long backoff = MIN_BACKOFF;
+        while (!hasGrown()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            // Modification events wake the reader up early where the platform supports them; otherwise the file is
+            // polled with an exponential backoff.
+            long timeout = Math.min(backoff, remaining);
+            WatchService watcher = watcher();
+            if (watcher == null) {
+                TimeUnit.NANOSECONDS.sleep(timeout);
+            } else {
+                WatchKey key = watcher.poll(timeout, TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+            backoff = Math.min(backoff << 1, MAX_BACKOFF);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean hasGrown() throws IOException {
+        long size = channel.size();
+        long position = channel.position();
+        if (size < position) {
+            throw new IOException("The file has been truncated.");
+        }
+        return size > position;
+    }
+
+    /**
+     * Return the number of bytes read from the file so far.
+     *
+     * @return The number of bytes.
+     */
+    long getBytesRead() {
+        return reader.getBytesRead();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        return reader.read(cbuf, off, len);
+    }
+
+    private WatchService watcher() {
+        if (watcher == null && !watcherUnavailable && path.getParent() != null) {
+            try {
+                watcher = path.getFileSystem().newWatchService();
+                path.getParent().register(watcher, ENTRY_MODIFY);
+            } catch (IOException | UnsupportedOperationException e) {
+                watcherUnavailable = true;
+                closeWatcher();
+            }
+        }
+        return watcher;
+    }
+
+    private void closeWatcher() {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } catch (IOException ignored) {
+            // Nothing to do: the file is polled instead.
+        } finally {
+            watcher = null;
+        }
+    }
+}
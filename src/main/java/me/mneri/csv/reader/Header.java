@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The names of the columns of a csv file.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see CsvReader#readHeader()
+ */
+public final class Header {
+    private final Map<String, Integer> indexes;
+    private final String[] names;
+    // The index of the column plus one for each resolved reference, by id; zero means that the reference has not been
+    // resolved yet. Readers sharing the header may race to update the table, which at worst resolves a reference again.
+    private int[] resolved = new int[0];
+
+    private Header(String[] names) {
+        this.names = names;
+        indexes = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            // In case of duplicate names the first column wins.
+            indexes.putIfAbsent(names[i], i);
+        }
+    }
+
+    /**
+     * Return a new header with the specified column names.
+     *
+     * @param names The names of the columns, in order.
+     * @return A new header.
+     */
+    public static Header of(String... names) {
+        return new Header(names.clone());
+    }
+
+    static Header of(RecycledLine line) {
+        String[] names = new String[line.getFieldCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = line.getString(i);
+        }
+        return new Header(names);
+    }
+
+    /**
+     * Return the name of the column at the specified index.
+     *
+     * @param i The index of the column.
+     * @return The name of the column.
+     */
+    public String getName(int i) {
+        return names[i];
+    }
+
+    /**
+     * Return the names of the columns.
+     *
+     * @return An unmodifiable list of names.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Return the index of the column with the specified name.
+     *
+     * @param name The name of the column.
+     * @return The index of the column, or {@code -1} if there is no column with the specified name.
+     */
+    public int indexOf(String name) {
+        Integer i = indexes.get(name);
+        return i == null ? -1 : i;
+    }
+
+    int indexOf(ColumnRef column) {
+        int[] table = resolved;
+        int id = column.id;
+        if (id < table.length && table[id] != 0) {
+            return table[id] - 1;
+        }
+        return resolve(column);
+    }
+
+    private int resolve(ColumnRef column) {
+        int i = indexOf(column.getName());
+        int id = column.id;
+        if (i >= 0 && id < ColumnRef.MAX_RESOLVED) {
+            int[] table = resolved;
+            if (id >= table.length) {
+                table = Arrays.copyOf(table, Math.min(Math.max(id + 1, table.length * 2), ColumnRef.MAX_RESOLVED));
+            }
+            table[id] = i + 1;
+            resolved = table;
+        }
+        return i;
+    }
+
+    /**
+     * Return the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import static me.mneri.csv.format.Format.*;
+import static me.mneri.csv.reader.CsvReader.isAnySet;
+import static me.mneri.csv.reader.CsvReader.isNoneSet;
+import static me.mneri.csv.reader.CsvReader.removeChars;
+
+import java.util.Arrays;
+
+import me.mneri.csv.exception.CsvException;
+import me.mneri.csv.exception.LineTooLongException;
+import me.mneri.csv.exception.UnexpectedCharacterException;
+import me.mneri.csv.format.Format;
+import me.mneri.csv.format.FormatProvider;
+import me.mneri.csv.option.CsvOptions;
+
+/**
+ * A parser of single csv lines held in memory, like the lines received in messages or request parameters. Unlike a
+ * {@link CsvReader}, a {@code LineParser} doesn't need a {@link java.io.Reader} and its buffer: the characters of the
+ * line are copied to a buffer sized on the longest line parsed so far, and the same parser is reused line after line.
+ * <p>
+ * A line terminator at the end of the characters is optional, and characters after the end of the first line are an
+ * error. The lines are parsed as if they were the consecutive lines of a stream: formats that read a setting at the
+ * beginning of a file, like the delimiter specification of {@link me.mneri.csv.format.MsExcelFormat}, read it from the
+ * first line parsed. Instances of this class are not thread-safe.
+ *
+ * <pre>{@code
+ * LineParser parser = new LineParser(new Rfc4180StrictFormat.Provider());
+ * RecycledLine line = parser.parse(message);
+ * int id = line.getInteger(0);
+ * }</pre>
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class LineParser {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private char[] buffer = new char[INITIAL_CAPACITY];
+    private final Format fmt;
+    private final RecycledLineImpl line = new RecycledLineImpl();
+    private final int maxLineLength;
+    private int[] removals = new int[16];
+
+    /**
+     * Create a new parser.
+     *
+     * @param provider A provider of {@link Format}s.
+     */
+    public LineParser(FormatProvider<?> provider) {
+        this(provider, CsvOptions.defaultOptions());
+    }
+
+    /**
+     * Create a new parser. The locale, the deduplicated columns and the maximum line length of the options are used;
+     * the options that only make sense for a stream of lines are ignored.
+     *
+     * @param provider A provider of {@link Format}s.
+     * @param options  Parsing options.
+     */
+    public LineParser(FormatProvider<?> provider, CsvOptions options) {
+        options.check();
+        this.fmt = provider.provide();
+        this.maxLineLength = options.getMaxLineLength();
+
+        line.setBuffer(buffer);
+        line.setCaches(CsvReader.createCaches(options));
+        line.setLocale(options.getLocale() != null ? options.getLocale() : provider.getLocale());
+    }
+
+    private void ensureCapacity(int length) throws LineTooLongException {
+        if (length > maxLineLength) {
+            throw new LineTooLongException(1, 0);
+        }
+        if (length > buffer.length) {
+            buffer = new char[Math.max(length, Math.min(buffer.length << 1, maxLineLength))];
+            line.setBuffer(buffer);
+        }
+    }
+
+    /**
+     * Parse a line.
+     *
+     * @param chars The characters of the line.
+     * @return The line, which is only valid until the next line is parsed.
+     * @throws CsvException if the line is not properly formatted.
+     */
+    public RecycledLine parse(CharSequence chars) throws CsvException {
+        return parse(chars, 0, chars.length());
+    }
+
+    /**
+     * Parse a line from a range of characters.
+     *
+     * @param chars The characters.
+     * @param start The index of the first character of the line.
+     * @param end   The index after the last character of the line.
+     * @return The line, which is only valid until the next line is parsed.
+     * @throws CsvException if the line is not properly formatted.
+     */
+    public RecycledLine parse(CharSequence chars, int start, int end) throws CsvException {
+        int length = end - start;
+        ensureCapacity(length);
+        if (chars instanceof String) {
+            ((String) chars).getChars(start, end, buffer, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                buffer[i] = chars.charAt(start + i);
+            }
+        }
+        return parse(length);
+    }
+
+    /**
+     * Parse a line from a range of an array of characters. The array is not modified.
+     *
+     * @param chars  The characters.
+     * @param offset The index of the first character of the line.
+     * @param length The number of characters of the line.
+     * @return The line, which is only valid until the next line is parsed.
+     * @throws CsvException if the line is not properly formatted.
+     */
+    public RecycledLine parse(char[] chars, int offset, int length) throws CsvException {
+        ensureCapacity(length);
+        System.arraycopy(chars, offset, buffer, 0, length);
+        return parse(length);
+    }
+
+    private RecycledLine parse(int size) throws CsvException {
+        char[] buffer = this.buffer;
+        int c;
+        int nextChar = 0;
+        int s = fmt.base();
+        int removalCount = 0;
+        int start = -1;
+
+        line.reset();
+
+        do {
+            do {
+                // The end of the line is fed to the format as the end of a stream, but not consumed.
+                c = nextChar < size ? buffer[nextChar++] : -1;
+            } while (isNoneSet(s = fmt.consume(s, c), ANY));
+
+            // Same actions as CsvReader#performActions(int, int), on a line that starts at the beginning of the buffer.
+            int next = isAnySet(s, STP) ? nextChar + 1 : nextChar;
+            if (isAnySet(s, SFH)) {
+                start = next - 1;
+            }
+            if (isAnySet(s, EFH | EFB)) {
+                int end = next - (isAnySet(s, EFB) ? 2 : 1);
+                if (removalCount > 0) {
+                    end = removeChars(buffer, 0, end, removals, 0, removalCount);
+                    removalCount = 0;
+                }
+                line.addField(start, end - start);
+            }
+            if (isAnySet(s, RLR)) {
+                nextChar--;
+            }
+            if (isAnySet(s, RCB)) {
+                if (removalCount == removals.length) {
+                    removals = Arrays.copyOf(removals, removalCount << 1);
+                }
+                removals[removalCount++] = nextChar - 2;
+            }
+        } while (isNoneSet(s, ELH | ERH | STP));
+
+        if (isAnySet(s, ERH)) {
+            throw new UnexpectedCharacterException(1, c == -1 ? size : nextChar - 1, c);
+        }
+        if (isNoneSet(s, STP) && nextChar < size) {
+            throw new UnexpectedCharacterException(1, nextChar, buffer[nextChar]);
+        }
+        return line;
+    }
+
+    /**
+     * Set the header used to resolve the {@link ColumnRef}s passed to the parsed lines.
+     *
+     * @param header The header, or {@code null} to resolve no column.
+     */
+    public void setHeader(Header header) {
+        line.setHeader(header);
+    }
+}
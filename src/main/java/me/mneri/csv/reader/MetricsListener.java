@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+/**
+ * Receive the statistics of each reader sharing a {@link ReaderMetrics} when the reader is closed.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see ReaderMetrics#addListener(MetricsListener)
+ */
+@FunctionalInterface
+public interface MetricsListener {
+    /**
+     * Handle the statistics of a closed reader.
+     *
+     * @param stats The statistics of the reader.
+     */
+    void onClose(ReaderStats stats);
+}
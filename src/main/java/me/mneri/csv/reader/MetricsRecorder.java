@@ -0,0 +1,52 @@
+package me.mneri.csv.reader;
+
+import static me.mneri.csv.reader.ReaderStats.*;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * The counters of a single reader. Counters are plain fields owned by the thread of the reader, and are published to
+ * the shared {@link ReaderMetrics} in batches.
+ */
+final class MetricsRecorder {
+    private final long[] deltas = new long[SIZE];
+    private final long[] flushed = new long[SIZE];
+    private final ReaderMetrics metrics;
+    private LongSupplier bytesRead;
+    final long[] values = new long[SIZE];
+
+    MetricsRecorder(ReaderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    void close() {
+        flush();
+        metrics.closed(new ReaderStats(values.clone()));
+    }
+
+    void flush() {
+        if (bytesRead != null) {
+            values[BYTES_READ] = bytesRead.getAsLong();
+        }
+        for (int i = 0; i < SIZE; i++) {
+            deltas[i] = values[i] - flushed[i];
+            flushed[i] = values[i];
+        }
+        metrics.add(deltas);
+    }
+
+    /**
+     * Start counting a new input from zero. The counters of the previous input must have been published by
+     * {@link MetricsRecorder#close()}.
+     */
+    void reset() {
+        Arrays.fill(values, 0);
+        Arrays.fill(flushed, 0);
+        bytesRead = null;
+    }
+
+    void setBytesRead(LongSupplier bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+}
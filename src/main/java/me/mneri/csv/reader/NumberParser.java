@@ -0,0 +1,442 @@
+package me.mneri.csv.reader;
+
+import java.math.BigInteger;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Parse floating-point numbers straight from the buffer of the reader. Decimal numbers with up to 19 significant digits
+ * are converted exactly, through Clinger's fast path when both the significand and the power of ten are exactly
+ * representable, and through the Eisel-Lemire algorithm otherwise. Anything else (longer significands, hexadecimal
+ * numbers, {@code NaN}, {@code Infinity}, leading or trailing spaces, type suffixes and the rare halfway cases
+ * Eisel-Lemire can't decide) is delegated to {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)},
+ * so that the result and the exceptions are always the same as theirs.
+ * <p>
+ * Plain decimal numbers are also parsed into an unscaled {@code long} at a given scale, for fixed-point columns.
+ * <p>
+ * The localized methods accept the decimal separator of a locale in place of the period, and its grouping separator
+ * anywhere in the integer part, in the same single pass.
+ */
+final class NumberParser {
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final float[] FLOAT_POWERS = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    private static final long MAX_DECIMAL = (Long.MAX_VALUE - 9) / 10;
+    private static final int MAX_DIGITS = 19;
+    private static final int MAX_EXPONENT = 308;
+    private static final int MIN_EXPONENT = -342;
+    private static final int NONE = -1;
+
+    private char decimalSeparator = '.';
+    private int groupingSeparator = NONE;
+    private boolean spaceGrouping;
+
+    // The sign, significand and power of ten of the last number scanned. After parseDecimal and parseInteger, the
+    // significand and the exponent are the unscaled value and the scale of the number.
+    private int exponent;
+    private boolean negative;
+    private long significand;
+
+    int getScale() {
+        return exponent;
+    }
+
+    long getUnscaled() {
+        return significand;
+    }
+
+    /**
+     * Scan a plain decimal number in the form {@code [+-]digits[.digits]} into an unscaled {@code long} at the
+     * specified scale, or at the number of fraction digits if the scale is negative. The decimal separator is the
+     * specified one, and grouping separators are skipped in the integer part.
+     *
+     * @return {@code false} if the number is not in that form, doesn't fit into a {@code long} at the scale, or has
+     * more non-zero fraction digits than the scale.
+     */
+    boolean parseDecimal(char[] b, int off, int len, int scale) {
+        return parseDecimal(b, off, len, scale, '.', NONE);
+    }
+
+    boolean parseLocalizedDecimal(char[] b, int off, int len, int scale) {
+        return parseDecimal(b, off, len, scale, decimalSeparator, groupingSeparator);
+    }
+
+    private boolean parseDecimal(char[] b, int off, int len, int scale, char decimal, int grouping) {
+        int p = off, end = off + len;
+        boolean negative = false;
+        if (p < end && (b[p] == '-' || b[p] == '+')) {
+            negative = b[p++] == '-';
+        }
+
+        long value = 0;
+        int digits = 0, fraction = -1;
+        for (; p < end; p++) {
+            char c = b[p];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (fraction >= 0) {
+                    if (fraction == scale) {
+                        if (c != '0') {
+                            return false;
+                        }
+                        continue;
+                    }
+                    fraction++;
+                }
+                // Conservative: values close to the limit take the slow path even when they would fit.
+                if (value > MAX_DECIMAL) {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c == decimal && fraction < 0) {
+                fraction = 0;
+            } else if (fraction >= 0 || !isGrouping(c, grouping)) {
+                return false;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        int actual = Math.max(fraction, 0);
+        for (; actual < scale; actual++) {
+            if (value > MAX_DECIMAL) {
+                return false;
+            }
+            value *= 10;
+        }
+
+        this.exponent = actual;
+        this.significand = negative ? -value : value;
+        return true;
+    }
+
+    /**
+     * Scan an integer in the form {@code [+-]digits} in the specified radix into a {@code long}, accepting the same
+     * strings as {@link Long#parseLong(String, int)}.
+     *
+     * @return {@code false} if the number is not in that form or is out of the specified range.
+     */
+    boolean parseInteger(char[] b, int off, int len, int radix, long min, long max) {
+        int p = off, end = off + len;
+        boolean negative = false;
+        if (p < end && (b[p] == '-' || b[p] == '+')) {
+            negative = b[p++] == '-';
+        }
+        if (p == end) {
+            return false;
+        }
+
+        // Accumulated negatively, as the JDK does, so that the minimum value doesn't overflow.
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / radix;
+        long value = 0;
+        for (; p < end; p++) {
+            int digit = Character.digit(b[p], radix);
+            if (digit < 0 || value < multiplyLimit) {
+                return false;
+            }
+            value *= radix;
+            if (value < limit + digit) {
+                return false;
+            }
+            value -= digit;
+        }
+
+        this.exponent = 0;
+        this.significand = negative ? value : -value;
+        return true;
+    }
+
+    /**
+     * Scan a decimal number in the form {@code [+-]digits[.digits][(e|E)[+-]digits]}, with the specified decimal
+     * separator and grouping separators in the integer part.
+     *
+     * @return {@code false} if the number is not in that form or has too many significant digits.
+     */
+    private boolean scan(char[] b, int off, int len, char decimal, int grouping) {
+        int p = off, end = off + len;
+        if (p < end && (b[p] == '-' || b[p] == '+')) {
+            this.negative = b[p++] == '-';
+        } else {
+            this.negative = false;
+        }
+
+        long significand = 0;
+        int digits = 0, exponent = 0;
+        boolean any = false, point = false;
+        for (; p < end; p++) {
+            char c = b[p];
+            if (c >= '0' && c <= '9') {
+                any = true;
+                if (significand != 0 || c != '0') {
+                    if (++digits > MAX_DIGITS) {
+                        return false;
+                    }
+                    significand = significand * 10 + (c - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (c == decimal && !point) {
+                point = true;
+            } else if (point || !isGrouping(c, grouping)) {
+                break;
+            }
+        }
+        if (!any) {
+            return false;
+        }
+
+        if (p < end && (b[p] == 'e' || b[p] == 'E')) {
+            boolean negative = false;
+            if (++p < end && (b[p] == '-' || b[p] == '+')) {
+                negative = b[p++] == '-';
+            }
+            if (p == end) {
+                return false;
+            }
+            int value = 0;
+            for (; p < end; p++) {
+                int digit = b[p] - '0';
+                if (digit < 0 || digit > 9) {
+                    return false;
+                }
+                // Exponents this large underflow or overflow anyway.
+                value = Math.min(value * 10 + digit, 100_000);
+            }
+            exponent += negative ? -value : value;
+        }
+
+        this.exponent = exponent;
+        this.significand = significand;
+        return p == end;
+    }
+
+    double parseDouble(char[] b, int off, int len) {
+        return parseDouble(b, off, len, '.', NONE);
+    }
+
+    double parseLocalizedDouble(char[] b, int off, int len) {
+        return parseDouble(b, off, len, decimalSeparator, groupingSeparator);
+    }
+
+    private double parseDouble(char[] b, int off, int len, char decimal, int grouping) {
+        if (scan(b, off, len, decimal, grouping)) {
+            long w = significand;
+            int q = exponent;
+            if (w == 0 || q < MIN_EXPONENT) {
+                return negative ? -0.0 : 0.0;
+            }
+            if (q > MAX_EXPONENT) {
+                return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+            if (Long.compareUnsigned(w, 1L << 53) <= 0 && q >= -22 && q <= 22) {
+                double d = q < 0 ? w / DOUBLE_POWERS[-q] : w * DOUBLE_POWERS[q];
+                return negative ? -d : d;
+            }
+            long bits = eiselLemire64(w, q);
+            if (bits >= 0) {
+                return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+            }
+        }
+        return Double.parseDouble(normalize(b, off, len, decimal, grouping));
+    }
+
+    float parseFloat(char[] b, int off, int len) {
+        return parseFloat(b, off, len, '.', NONE);
+    }
+
+    float parseLocalizedFloat(char[] b, int off, int len) {
+        return parseFloat(b, off, len, decimalSeparator, groupingSeparator);
+    }
+
+    private float parseFloat(char[] b, int off, int len, char decimal, int grouping) {
+        if (scan(b, off, len, decimal, grouping)) {
+            long w = significand;
+            int q = exponent;
+            if (w == 0 || q < MIN_EXPONENT) {
+                return negative ? -0.0f : 0.0f;
+            }
+            if (q > MAX_EXPONENT) {
+                return negative ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+            }
+            if (Long.compareUnsigned(w, 1L << 24) <= 0 && q >= -10 && q <= 10) {
+                float f = q < 0 ? w / FLOAT_POWERS[-q] : w * FLOAT_POWERS[q];
+                return negative ? -f : f;
+            }
+            int bits = eiselLemire32(w, q);
+            if (bits >= 0) {
+                return Float.intBitsToFloat(negative ? bits | Integer.MIN_VALUE : bits);
+            }
+        }
+        return Float.parseFloat(normalize(b, off, len, decimal, grouping));
+    }
+
+    private boolean isGrouping(char c, int grouping) {
+        return grouping != NONE && (c == grouping || spaceGrouping && Character.isSpaceChar(c));
+    }
+
+    /**
+     * Return the number in the syntax of the JDK parsers: grouping separators are removed and the decimal separator is
+     * replaced by a period.
+     */
+    String normalize(char[] b, int off, int len, char decimal, int grouping) {
+        if (decimal == '.' && grouping == NONE) {
+            return new String(b, off, len);
+        }
+        StringBuilder builder = new StringBuilder(len);
+        boolean point = false;
+        for (int p = off; p < off + len; p++) {
+            char c = b[p];
+            if (c == decimal && !point) {
+                builder.append('.');
+                point = true;
+            } else if (point || !isGrouping(c, grouping)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    String normalizeLocalized(char[] b, int off, int len) {
+        return normalize(b, off, len, decimalSeparator, groupingSeparator);
+    }
+
+    /**
+     * Use the decimal and grouping separators of the specified locale for the localized methods. Locales grouping by
+     * a space, like French, also accept any other space character as grouping separator.
+     */
+    void setLocale(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        decimalSeparator = symbols.getDecimalSeparator();
+        groupingSeparator = symbols.getGroupingSeparator();
+        spaceGrouping = Character.isSpaceChar(symbols.getGroupingSeparator());
+    }
+
+    /**
+     * Return the bits of the double nearest to {@code w * 10^q}, or {@code -1} if the result can't be decided.
+     */
+    private static long eiselLemire64(long w, int q) {
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        long exponent = (217_706L * q >> 16) + 64 + 1023 - lz;
+
+        int index = q - MIN_EXPONENT;
+        long hi = unsignedMultiplyHigh(w, Powers.HIGH[index]);
+        long lo = w * Powers.HIGH[index];
+        if ((hi & 0x1FF) == 0x1FF && Long.compareUnsigned(lo + w, w) < 0) {
+            long hi2 = unsignedMultiplyHigh(w, Powers.LOW[index]);
+            long lo2 = w * Powers.LOW[index];
+            long mergedLo = lo + hi2;
+            long mergedHi = Long.compareUnsigned(mergedLo, lo) < 0 ? hi + 1 : hi;
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(lo2 + w, w) < 0) {
+                return -1;
+            }
+            hi = mergedHi;
+            lo = mergedLo;
+        }
+
+        long msb = hi >>> 63;
+        long mantissa = hi >>> (msb + 9);
+        exponent -= 1 ^ msb;
+        if (lo == 0 && (hi & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            return -1;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >>> 53 != 0) {
+            mantissa >>>= 1;
+            exponent++;
+        }
+        if (exponent <= 0 || exponent >= 0x7FF) {
+            return -1;
+        }
+        return exponent << 52 | mantissa & 0x000F_FFFF_FFFF_FFFFL;
+    }
+
+    /**
+     * Return the bits of the float nearest to {@code w * 10^q}, or {@code -1} if the result can't be decided.
+     */
+    private static int eiselLemire32(long w, int q) {
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        long exponent = (217_706L * q >> 16) + 64 + 127 - lz;
+
+        int index = q - MIN_EXPONENT;
+        long hi = unsignedMultiplyHigh(w, Powers.HIGH[index]);
+        long lo = w * Powers.HIGH[index];
+        if ((hi & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && Long.compareUnsigned(lo + w, w) < 0) {
+            long hi2 = unsignedMultiplyHigh(w, Powers.LOW[index]);
+            long lo2 = w * Powers.LOW[index];
+            long mergedLo = lo + hi2;
+            long mergedHi = Long.compareUnsigned(mergedLo, lo) < 0 ? hi + 1 : hi;
+            if ((mergedHi & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && mergedLo + 1 == 0
+                    && Long.compareUnsigned(lo2 + w, w) < 0) {
+                return -1;
+            }
+            hi = mergedHi;
+            lo = mergedLo;
+        }
+
+        long msb = hi >>> 63;
+        long mantissa = hi >>> (msb + 38);
+        exponent -= 1 ^ msb;
+        if (lo == 0 && (hi & 0x3F_FFFF_FFFFL) == 0 && (mantissa & 3) == 1) {
+            return -1;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >>> 24 != 0) {
+            mantissa >>>= 1;
+            exponent++;
+        }
+        if (exponent <= 0 || exponent >= 0xFF) {
+            return -1;
+        }
+        return (int) (exponent << 23 | mantissa & 0x7F_FFFF);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFF_FFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFF_FFFFL, y1 = y >>> 32;
+        long cross = ((x0 * y0) >>> 32) + ((x1 * y0) & 0xFFFF_FFFFL) + x0 * y1;
+        return x1 * y1 + ((x1 * y0) >>> 32) + (cross >>> 32);
+    }
+
+    /**
+     * The 128-bit significands of the powers of ten from 10^-342 to 10^308, normalized so that the most significant bit
+     * is set. Significands of negative powers are rounded up. The table is computed the first time a number doesn't
+     * take the fast path.
+     */
+    private static final class Powers {
+        static final long[] HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+        static final long[] LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+        static {
+            BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+            BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+            BigInteger five = BigInteger.valueOf(5);
+            for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+                BigInteger c;
+                if (q < 0) {
+                    BigInteger power = five.pow(-q);
+                    int z = power.subtract(BigInteger.ONE).bitLength();
+                    int shift = q >= -27 ? z + 127 : 2 * z + 128;
+                    c = BigInteger.ONE.shiftLeft(shift).divide(power).add(BigInteger.ONE);
+                } else {
+                    c = five.pow(q);
+                    if (c.compareTo(two127) < 0) {
+                        c = c.shiftLeft(127 - c.bitLength() + 1);
+                    }
+                }
+                if (c.compareTo(two128) >= 0) {
+                    c = c.shiftRight(c.bitLength() - 128);
+                }
+                HIGH[q - MIN_EXPONENT] = c.shiftRight(64).longValue();
+                LOW[q - MIN_EXPONENT] = c.longValue();
+            }
+        }
+    }
+}
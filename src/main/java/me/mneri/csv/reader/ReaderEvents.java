@@ -0,0 +1,58 @@
+package me.mneri.csv.reader;
+
+/**
+ * The Java Flight Recorder events of a reader. This implementation emits nothing: on Java 11 and later it is replaced
+ * by the one in {@code META-INF/versions/11}, which emits the events enabled in the running recordings.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class ReaderEvents {
+    /**
+     * Start the event of a line being deserialized.
+     *
+     * @return The event, or {@code null} if the event is disabled.
+     */
+    Object beginDeserialize() {
+        return null;
+    }
+
+    /**
+     * Report that the current line has been moved to the beginning of the buffer, or of a new buffer if the line
+     * didn't leave enough room to read.
+     *
+     * @param from       The capacity of the old buffer.
+     * @param to         The capacity of the new buffer, equal to {@code from} if the buffer has been kept.
+     * @param lineLength The number of characters of the current line.
+     */
+    void bufferMoved(int from, int to, int lineLength) {
+    }
+
+    /**
+     * Report that the reader has been closed.
+     *
+     * @param source     The name of the source, or {@code null} if unknown.
+     * @param bytes      The number of bytes read, or {@code -1} if unknown.
+     * @param characters The number of characters read.
+     * @param records    The number of records read.
+     */
+    void closed(String source, long bytes, long characters, long records) {
+    }
+
+    /**
+     * End the event of a line being deserialized.
+     *
+     * @param event The event returned by {@link #beginDeserialize()}.
+     * @param line  The number of the line.
+     */
+    void endDeserialize(Object event, long line) {
+    }
+
+    /**
+     * Report the progress of the reader after a read from the source.
+     *
+     * @param characters The number of characters read so far.
+     * @param records    The number of records read so far.
+     */
+    void read(long characters, long records) {
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the readers: throughput counters and the time spent reading, parsing and deserializing. Metrics are
+ * opt-in, through {@link me.mneri.csv.option.CsvOptions#setMetrics(ReaderMetrics)}; readers without metrics don't
+ * measure anything.
+ * <p>
+ * A {@code ReaderMetrics} can be shared by many readers, even concurrently, and holds their totals. Each reader
+ * accumulates its own counters and publishes them every time it reads from its input and when it's closed, so that the
+ * hot loop never touches shared memory. The totals can be exposed through JMX with
+ * {@link ReaderMetrics#register(String)}, and the statistics of each reader are passed to the
+ * {@link MetricsListener}s when the reader is closed.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class ReaderMetrics implements ReaderMetricsMXBean {
+    private final LongAdder closedReaders = new LongAdder();
+    private final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder[] totals = new LongAdder[ReaderStats.SIZE];
+
+    public ReaderMetrics() {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new LongAdder();
+        }
+    }
+
+    void add(long[] deltas) {
+        for (int i = 0; i < deltas.length; i++) {
+            if (deltas[i] != 0) {
+                totals[i].add(deltas[i]);
+            }
+        }
+    }
+
+    /**
+     * Add a listener of the statistics of the readers.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    void closed(ReaderStats stats) {
+        closedReaders.increment();
+        for (MetricsListener listener : listeners) {
+            listener.onClose(stats);
+        }
+    }
+
+    @Override
+    public long getBufferShifts() {
+        return totals[ReaderStats.BUFFER_SHIFTS].sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return totals[ReaderStats.BYTES_READ].sum();
+    }
+
+    @Override
+    public long getCharsRead() {
+        return totals[ReaderStats.CHARS_READ].sum();
+    }
+
+    @Override
+    public long getClosedReaders() {
+        return closedReaders.sum();
+    }
+
+    @Override
+    public long getDeserializeTime() {
+        return totals[ReaderStats.DESERIALIZE_TIME].sum();
+    }
+
+    @Override
+    public long getEscapedQuotes() {
+        return totals[ReaderStats.ESCAPED_QUOTES].sum();
+    }
+
+    @Override
+    public long getFields() {
+        return totals[ReaderStats.FIELDS].sum();
+    }
+
+    @Override
+    public long getParseTime() {
+        return totals[ReaderStats.PARSE_TIME].sum();
+    }
+
+    @Override
+    public long getReadCalls() {
+        return totals[ReaderStats.READ_CALLS].sum();
+    }
+
+    @Override
+    public long getReadTime() {
+        return totals[ReaderStats.READ_TIME].sum();
+    }
+
+    @Override
+    public long getRecords() {
+        return totals[ReaderStats.RECORDS].sum();
+    }
+
+    /**
+     * Register these metrics in the platform MBean server, with the object name
+     * {@code me.mneri.csv:type=ReaderMetrics,name=<name>}.
+     *
+     * @param name The name of the metrics.
+     * @return The object name.
+     * @throws JMException if the metrics can't be registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Remove a listener of the statistics of the readers.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("me.mneri.csv:type=ReaderMetrics,name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * Return the current totals.
+     *
+     * @return The totals.
+     */
+    public ReaderStats snapshot() {
+        long[] values = new long[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            values[i] = totals[i].sum();
+        }
+        return new ReaderStats(values);
+    }
+
+    /**
+     * Unregister these metrics from the platform MBean server.
+     *
+     * @param name The name the metrics have been registered with.
+     * @throws JMException if the metrics can't be unregistered.
+     */
+    public void unregister(String name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(name));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+/**
+ * The management interface of {@link ReaderMetrics}. All the values are totals over the readers sharing the metrics;
+ * times are in nanoseconds.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public interface ReaderMetricsMXBean {
+    long getBufferShifts();
+
+    long getBytesRead();
+
+    long getCharsRead();
+
+    long getClosedReaders();
+
+    long getDeserializeTime();
+
+    long getEscapedQuotes();
+
+    long getFields();
+
+    long getParseTime();
+
+    long getReadCalls();
+
+    long getReadTime();
+
+    long getRecords();
+}
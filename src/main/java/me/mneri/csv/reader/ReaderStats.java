@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+/**
+ * The statistics of a reader, or the totals of the readers sharing a {@link ReaderMetrics}. Times are in nanoseconds;
+ * the parse time doesn't include the read time, which is spent while parsing.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class ReaderStats {
+    static final int BUFFER_SHIFTS = 0;
+    static final int BYTES_READ = 1;
+    static final int CHARS_READ = 2;
+    static final int DESERIALIZE_TIME = 3;
+    static final int ESCAPED_QUOTES = 4;
+    static final int FIELDS = 5;
+    static final int PARSE_TIME = 6;
+    static final int READ_CALLS = 7;
+    static final int READ_TIME = 8;
+    static final int RECORDS = 9;
+    static final int SIZE = 10;
+
+    private final long[] values;
+
+    ReaderStats(long[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Return the number of times the content of the buffer has been moved to make room for new characters.
+     *
+     * @return The number of buffer shifts.
+     */
+    public long getBufferShifts() {
+        return values[BUFFER_SHIFTS];
+    }
+
+    /**
+     * Return the number of bytes read. Bytes are only counted for readers opened from a file or a channel, not from a
+     * {@link java.io.Reader}.
+     *
+     * @return The number of bytes.
+     */
+    public long getBytesRead() {
+        return values[BYTES_READ];
+    }
+
+    /**
+     * Return the number of characters read.
+     *
+     * @return The number of characters.
+     */
+    public long getCharsRead() {
+        return values[CHARS_READ];
+    }
+
+    /**
+     * Return the time spent in the deserializer.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getDeserializeTime() {
+        return values[DESERIALIZE_TIME];
+    }
+
+    /**
+     * Return the number of escaped quotes collapsed into a single quote.
+     *
+     * @return The number of escaped quotes.
+     */
+    public long getEscapedQuotes() {
+        return values[ESCAPED_QUOTES];
+    }
+
+    /**
+     * Return the number of fields parsed.
+     *
+     * @return The number of fields.
+     */
+    public long getFields() {
+        return values[FIELDS];
+    }
+
+    /**
+     * Return the time spent parsing, excluding the time spent reading.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getParseTime() {
+        return values[PARSE_TIME];
+    }
+
+    /**
+     * Return the number of calls to {@link java.io.Reader#read(char[], int, int)}.
+     *
+     * @return The number of calls.
+     */
+    public long getReadCalls() {
+        return values[READ_CALLS];
+    }
+
+    /**
+     * Return the time spent reading from the underlying reader.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getReadTime() {
+        return values[READ_TIME];
+    }
+
+    /**
+     * Return the number of records parsed, including the skipped ones and excluding the malformed ones.
+     *
+     * @return The number of records.
+     */
+    public long getRecords() {
+        return values[RECORDS];
+    }
+
+    @Override
+    public String toString() {
+        return "ReaderStats[records=" + getRecords() + ", fields=" + getFields() + ", chars=" + getCharsRead()
+                + ", bytes=" + getBytesRead() + ", readTime=" + getReadTime() + ", parseTime=" + getParseTime()
+                + ", deserializeTime=" + getDeserializeTime() + "]";
+    }
+}
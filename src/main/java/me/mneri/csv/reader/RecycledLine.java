@@ -18,8 +18,13 @@
 
 package me.mneri.csv.reader;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * A csv line which is generated by {@link CsvReader}. This class provides getter methods
@@ -38,6 +43,16 @@ public interface RecycledLine {
      */
     BigDecimal getBigDecimal(int i);
 
+    /**
+     * Return the value of the field at the specified index as {@link BigDecimal} with the specified scale.
+     *
+     * @param i     The index of the field.
+     * @param scale The scale.
+     * @return The value of the field.
+     * @throws ArithmeticException if the value has more non-zero fraction digits than the scale.
+     */
+    BigDecimal getBigDecimal(int i, int scale);
+
     /**
      * Return the value of the field at the specified index as {@link BigInteger}.
      *
@@ -64,6 +79,26 @@ public interface RecycledLine {
      */
     Boolean getBoolean(int i);
 
+    /**
+     * Return the value of the field at the specified index as {@link Boolean}, according to the specified tokens.
+     *
+     * @param i      The index of the field.
+     * @param mapper The mapper of the tokens, as returned by {@link TokenMapper#ofBooleans(String, String)}.
+     * @return The value of the field.
+     * @throws IllegalArgumentException if the field is not one of the tokens.
+     */
+    Boolean getBoolean(int i, TokenMapper<Boolean> mapper);
+
+    /**
+     * Return a view of the characters of the field at the specified index. The view doesn't copy the characters: it is
+     * only valid until the reader moves to the next line. Prefer this method to {@link RecycledLine#getString(int)}
+     * for large fields that are scanned once.
+     *
+     * @param i The index of the field.
+     * @return The characters of the field.
+     */
+    CharSequence getCharSequence(int i);
+
     /**
      * Return the value of the field at the specified index as {@link Double}.
      *
@@ -72,6 +107,35 @@ public interface RecycledLine {
      */
     Double getDouble(int i);
 
+    /**
+     * Return the value of the field at the specified index as {@code double}. Same as
+     * {@link RecycledLine#getDouble(int)}, without boxing the value.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a valid number.
+     */
+    double getDoubleValue(int i);
+
+    /**
+     * Return the value of the field at the specified index as the number of milliseconds from the epoch. The field is
+     * parsed as by {@link RecycledLine#getInstant(int)}, without allocating any object.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field is not a valid instant.
+     */
+    long getEpochMillis(int i);
+
+    /**
+     * Return the number of characters of the field at the specified index, without creating a string. An empty field
+     * has length zero.
+     *
+     * @param i The index of the field.
+     * @return The number of characters.
+     */
+    int getLength(int i);
+
     /**
      * Return the number of fields in this line.
      *
@@ -79,6 +143,17 @@ public interface RecycledLine {
      */
     int getFieldCount();
 
+    /**
+     * Return the value of the field at the specified index as a constant of an enum type.
+     *
+     * @param i      The index of the field.
+     * @param mapper The mapper from the tokens to the constants, as returned by {@link TokenMapper#ofEnum(Class)}.
+     * @param <E>    The enum type.
+     * @return The value of the field.
+     * @throws IllegalArgumentException if the field is not one of the tokens.
+     */
+    <E extends Enum<E>> E getEnum(int i, TokenMapper<E> mapper);
+
     /**
      * Return the value of the field at the specified index as {@link Float}.
      *
@@ -87,6 +162,16 @@ public interface RecycledLine {
      */
     Float getFloat(int i);
 
+    /**
+     * Return the value of the field at the specified index as {@code float}. Same as {@link RecycledLine#getFloat(int)},
+     * without boxing the value.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a valid number.
+     */
+    float getFloatValue(int i);
+
     /**
      * Return the value of the field at the specified index as {@link Integer}.
      *
@@ -106,6 +191,102 @@ public interface RecycledLine {
      */
     Integer getInteger(int i, int radix);
 
+    /**
+     * Return the value of the field at the specified index as {@code int}. Same as {@link RecycledLine#getInteger(int)},
+     * without boxing the value or creating a string.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a valid integer.
+     */
+    int getIntValue(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@link Instant}. The field must be an ISO-8601 date-time,
+     * like {@code 2018-12-31T23:59:59.999Z}, followed by either {@code 'Z'} or an offset like {@code +01:00};
+     * date-times without offset are in UTC.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field is not a valid instant.
+     */
+    Instant getInstant(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@link LocalDate}. The field must be an ISO-8601 date,
+     * like {@code 2018-12-31}.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field is not a valid date.
+     */
+    LocalDate getLocalDate(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@link LocalDate} in the specified pattern.
+     *
+     * @param i       The index of the field.
+     * @param pattern The pattern.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field doesn't match the pattern or is not a valid date.
+     */
+    LocalDate getLocalDate(int i, DateTimePattern pattern);
+
+    /**
+     * Return the value of the field at the specified index as {@link LocalDateTime}. The field must be an ISO-8601
+     * date-time, like {@code 2018-12-31T23:59:59.999}; the separator can also be a space, and the seconds and their
+     * fraction are optional.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field is not a valid date-time.
+     */
+    LocalDateTime getLocalDateTime(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@link LocalDateTime} in the specified pattern.
+     *
+     * @param i       The index of the field.
+     * @param pattern The pattern.
+     * @return The value of the field.
+     * @throws java.time.format.DateTimeParseException if the field doesn't match the pattern or is not a valid
+     *                                                 date-time.
+     */
+    LocalDateTime getLocalDateTime(int i, DateTimePattern pattern);
+
+    /**
+     * Return the value of the field at the specified index as {@link BigDecimal}, parsed with the decimal and grouping
+     * separators of the locale of the reader. For example, {@code 1.234,56} is {@code 1234.56} in German.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a number.
+     * @see me.mneri.csv.option.CsvOptions#setLocale(java.util.Locale)
+     */
+    BigDecimal getLocalizedBigDecimal(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@code double}, parsed with the decimal and grouping
+     * separators of the locale of the reader. For example, {@code 1.234,56} is {@code 1234.56} in German.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a number.
+     * @see me.mneri.csv.option.CsvOptions#setLocale(java.util.Locale)
+     */
+    double getLocalizedDouble(int i);
+
+    /**
+     * Return the value of the field at the specified index as {@code long}, parsed with the grouping separator of the
+     * locale of the reader. For example, {@code 1.234} is {@code 1234} in German.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not an integer.
+     * @see me.mneri.csv.option.CsvOptions#setLocale(java.util.Locale)
+     */
+    long getLocalizedLong(int i);
+
     /**
      * Return the value of the field at the specified index as {@link Long}.
      *
@@ -125,6 +306,25 @@ public interface RecycledLine {
      */
     Long getLong(int i, int radix);
 
+    /**
+     * Return the value of the field at the specified index as {@code long}. Same as {@link RecycledLine#getLong(int)},
+     * without boxing the value or creating a string.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a valid integer.
+     */
+    long getLongValue(int i);
+
+    /**
+     * Return the values of this line converted according to the {@link CsvSchema} bound to the reader.
+     *
+     * @return The typed row.
+     * @throws IllegalStateException if no schema is bound to the reader.
+     * @see me.mneri.csv.option.CsvOptions#setSchema(CsvSchema)
+     */
+    TypedRow getRow();
+
     /**
      * Return the value of the field at the specified index as {@link Short}.
      *
@@ -144,6 +344,16 @@ public interface RecycledLine {
      */
     Short getShort(int i, int radix);
 
+    /**
+     * Return the value of the field at the specified index as {@code short}. Same as {@link RecycledLine#getShort(int)},
+     * without boxing the value or creating a string.
+     *
+     * @param i The index of the field.
+     * @return The value of the field.
+     * @throws NumberFormatException if the field is not a valid integer.
+     */
+    short getShortValue(int i);
+
     /**
      * Return the value of the field at the specified index as {@link String}.
      *
@@ -151,4 +361,59 @@ public interface RecycledLine {
      * @return The value of the field.
      */
     String getString(int i);
+
+    /**
+     * Return the value of the field in the specified column as {@link String}.
+     *
+     * @param column The column.
+     * @return The value of the field.
+     */
+    String getString(ColumnRef column);
+
+    /**
+     * Return the value mapped to the field at the specified index.
+     *
+     * @param i      The index of the field.
+     * @param mapper The mapper from the tokens to the values.
+     * @param <T>    The type of the values.
+     * @return The value of the field.
+     * @throws IllegalArgumentException if the field is not one of the tokens.
+     */
+    <T> T getToken(int i, TokenMapper<T> mapper);
+
+    /**
+     * Return the value of the field at the specified index as an unscaled {@code long} at the specified scale. For
+     * example, {@code 12345.6} at scale 2 is {@code 1234560}. Plain decimal numbers are parsed from the characters of
+     * the field without allocating any object; other representations, like those in scientific notation, are parsed by
+     * {@link BigDecimal}.
+     *
+     * @param i     The index of the field.
+     * @param scale The scale.
+     * @return The unscaled value of the field.
+     * @throws ArithmeticException   if the value has more non-zero fraction digits than the scale or doesn't fit into a
+     *                               {@code long} at the scale.
+     * @throws NumberFormatException if the field is not a decimal number.
+     */
+    long getUnscaledLong(int i, int scale);
+
+    /**
+     * Write the characters of the field at the specified index to the specified writer, without copying them to an
+     * intermediate {@link String}.
+     *
+     * @param i   The index of the field.
+     * @param out The writer.
+     * @throws IOException if an I/O error occurs.
+     */
+    void writeTo(int i, Writer out) throws IOException;
+
+    /**
+     * Return the index of the specified column in the header of the file. The returned index can be used with any of
+     * the getters of this interface.
+     *
+     * @param column The column.
+     * @return The index of the column.
+     * @throws me.mneri.csv.exception.NoSuchFieldException if no header is available or the header doesn't contain
+     *                                                     the column.
+     */
+    int indexOf(ColumnRef column);
 }
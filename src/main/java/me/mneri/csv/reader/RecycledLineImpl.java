@@ -1,16 +1,62 @@
 package me.mneri.csv.reader;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
 
 import me.mneri.csv.exception.NoSuchFieldException;
 
 class RecycledLineImpl implements RecycledLine {
-    private final String[] fields = new String[32_768];
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Fields are stored as ranges of the buffer of the reader and turned into strings only when requested. A field
+    // which is never read never costs an allocation.
+    private char[] buffer;
+    private StringCache[] caches = new StringCache[0];
+    private Header header;
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private final NumberParser numbers = new NumberParser();
+    private TypedRow row;
     private int size;
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private final TemporalParser temporals = new TemporalParser();
+    private String[] values = new String[INITIAL_CAPACITY];
+
+    private static boolean equalsIgnoreCase(char c, char lowerCase) {
+        char upperCase = Character.toUpperCase(c);
+        return c == lowerCase || upperCase == Character.toUpperCase(lowerCase)
+                || Character.toLowerCase(upperCase) == lowerCase;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Negative scale: " + scale);
+        }
+    }
+
+    private void checkField(int i) {
+        if (i >= size) {
+            throw new NoSuchFieldException("No such field: " + i);
+        }
+    }
 
-    void addField(String s) {
-        fields[size++] = s;
+    void addField(int start, int length) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        starts[size] = start;
+        lengths[size] = length;
+        size++;
     }
 
     @Override
@@ -18,15 +64,131 @@ class RecycledLineImpl implements RecycledLine {
         return size;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TypedRow getRow() {
+        if (row == null) {
+            throw new IllegalStateException("No schema.");
+        }
+        return row;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String getString(int i) {
-        if (i >= size) {
-            throw new NoSuchFieldException("No such field: " + i);
+        checkField(i);
+        String value = values[i];
+        if (value == null) {
+            StringCache cache = i < caches.length ? caches[i] : null;
+            value = cache == null ? new String(buffer, starts[i], lengths[i]) : cache.get(buffer, starts[i], lengths[i]);
+            values[i] = value;
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getString(ColumnRef column) {
+        return getString(indexOf(column));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getLocalizedBigDecimal(int i) {
+        checkField(i);
+        if (numbers.parseLocalizedDecimal(buffer, starts[i], lengths[i], -1)) {
+            return BigDecimal.valueOf(numbers.getUnscaled(), numbers.getScale());
+        }
+        return new BigDecimal(numbers.normalizeLocalized(buffer, starts[i], lengths[i]));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLocalizedDouble(int i) {
+        checkField(i);
+        return numbers.parseLocalizedDouble(buffer, starts[i], lengths[i]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLocalizedLong(int i) {
+        checkField(i);
+        if (numbers.parseLocalizedDecimal(buffer, starts[i], lengths[i], 0)) {
+            return numbers.getUnscaled();
+        }
+        return Long.parseLong(numbers.normalizeLocalized(buffer, starts[i], lengths[i]));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T getToken(int i, TokenMapper<T> mapper) {
+        T value = mapToken(i, mapper);
+        if (value == null) {
+            throw new IllegalArgumentException("No such token: " + getString(i));
         }
-        return fields[i];
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnscaledLong(int i, int scale) {
+        checkField(i);
+        checkScale(scale);
+        if (numbers.parseDecimal(buffer, starts[i], lengths[i], scale)) {
+            return numbers.getUnscaled();
+        }
+        return new BigDecimal(getString(i)).setScale(scale).unscaledValue().longValueExact();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(ColumnRef column) {
+        if (header == null) {
+            throw new NoSuchFieldException("No header: " + column);
+        }
+        int i = header.indexOf(column);
+        if (i < 0) {
+            throw new NoSuchFieldException("No such column: " + column);
+        }
+        return i;
+    }
+
+    void setBuffer(char[] buffer) {
+        this.buffer = buffer;
+    }
+
+    void setCaches(StringCache[] caches) {
+        this.caches = caches;
+    }
+
+    void setLocale(Locale locale) {
+        numbers.setLocale(locale);
+    }
+
+    void setRow(TypedRow row) {
+        this.row = row;
+    }
+
+    void setHeader(Header header) {
+        this.header = header;
     }
 
     /**
@@ -34,8 +196,24 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public BigDecimal getBigDecimal(int i) {
-        String value = getString(i);
-        return value == null ? null : new BigDecimal(value);
+        checkField(i);
+        if (numbers.parseDecimal(buffer, starts[i], lengths[i], -1)) {
+            return BigDecimal.valueOf(numbers.getUnscaled(), numbers.getScale());
+        }
+        return new BigDecimal(getString(i));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getBigDecimal(int i, int scale) {
+        checkField(i);
+        checkScale(scale);
+        if (numbers.parseDecimal(buffer, starts[i], lengths[i], scale)) {
+            return BigDecimal.valueOf(numbers.getUnscaled(), scale);
+        }
+        return new BigDecimal(getString(i)).setScale(scale);
     }
 
     /**
@@ -60,8 +238,30 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Boolean getBoolean(int i) {
-        String value = getString(i);
-        return value == null ? null : Boolean.parseBoolean(value);
+        checkField(i);
+        // Same as Boolean.parseBoolean(getString(i)), without creating the string.
+        int start = starts[i];
+        return lengths[i] == 4 && equalsIgnoreCase(buffer[start], 't') && equalsIgnoreCase(buffer[start + 1], 'r')
+                && equalsIgnoreCase(buffer[start + 2], 'u') && equalsIgnoreCase(buffer[start + 3], 'e');
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean getBoolean(int i, TokenMapper<Boolean> mapper) {
+        return getToken(i, mapper);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CharSequence getCharSequence(int i) {
+        checkField(i);
+        CharRange range = new CharRange();
+        range.set(buffer, starts[i], lengths[i]);
+        return range;
     }
 
     /**
@@ -69,8 +269,24 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Double getDouble(int i) {
-        String value = getString(i);
-        return value == null ? null : Double.parseDouble(value);
+        return getDoubleValue(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDoubleValue(int i) {
+        checkField(i);
+        return numbers.parseDouble(buffer, starts[i], lengths[i]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <E extends Enum<E>> E getEnum(int i, TokenMapper<E> mapper) {
+        return getToken(i, mapper);
     }
 
     /**
@@ -78,8 +294,78 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Float getFloat(int i) {
-        String value = getString(i);
-        return value == null ? null : Float.parseFloat(value);
+        return getFloatValue(i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getFloatValue(int i) {
+        checkField(i);
+        return numbers.parseFloat(buffer, starts[i], lengths[i]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEpochMillis(int i) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, TemporalParser.INSTANT);
+        long seconds = temporals.epochDay * 86_400 + temporals.nanoOfDay / 1_000_000_000 - temporals.offsetSeconds;
+        return seconds * 1_000 + temporals.nanoOfDay % 1_000_000_000 / 1_000_000;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Instant getInstant(int i) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, TemporalParser.INSTANT);
+        long seconds = temporals.epochDay * 86_400 + temporals.nanoOfDay / 1_000_000_000 - temporals.offsetSeconds;
+        return Instant.ofEpochSecond(seconds, temporals.nanoOfDay % 1_000_000_000);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate getLocalDate(int i) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, TemporalParser.DATE);
+        return temporals.getLocalDate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate getLocalDate(int i, DateTimePattern pattern) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, pattern);
+        return temporals.getLocalDate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getLocalDateTime(int i) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, TemporalParser.DATE_TIME);
+        return LocalDateTime.of(temporals.getLocalDate(), LocalTime.ofNanoOfDay(temporals.nanoOfDay));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime getLocalDateTime(int i, DateTimePattern pattern) {
+        checkField(i);
+        temporals.parse(buffer, starts[i], lengths[i], i, pattern);
+        return LocalDateTime.of(temporals.getLocalDate(), LocalTime.ofNanoOfDay(temporals.nanoOfDay));
     }
 
     /**
@@ -95,8 +381,22 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Integer getInteger(int i, int radix) {
-        String value = getString(i);
-        return value == null ? null : Integer.parseInt(value, radix);
+        if (parseInteger(i, radix, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return (int) numbers.getUnscaled();
+        }
+        // Malformed values are parsed again to throw the exception of the JDK.
+        return Integer.parseInt(getString(i), radix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIntValue(int i) {
+        if (parseInteger(i, 10, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return (int) numbers.getUnscaled();
+        }
+        return Integer.parseInt(getString(i));
     }
 
     /**
@@ -112,8 +412,21 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Long getLong(int i, int radix) {
-        String value = getString(i);
-        return value == null ? null : Long.parseLong(value, radix);
+        if (parseInteger(i, radix, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            return numbers.getUnscaled();
+        }
+        return Long.parseLong(getString(i), radix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLongValue(int i) {
+        if (parseInteger(i, 10, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            return numbers.getUnscaled();
+        }
+        return Long.parseLong(getString(i));
     }
 
     /**
@@ -129,11 +442,87 @@ class RecycledLineImpl implements RecycledLine {
      */
     @Override
     public Short getShort(int i, int radix) {
-        String value = getString(i);
-        return value == null ? null : Short.parseShort(value, radix);
+        if (parseInteger(i, radix, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return (short) numbers.getUnscaled();
+        }
+        return Short.parseShort(getString(i), radix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short getShortValue(int i) {
+        if (parseInteger(i, 10, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return (short) numbers.getUnscaled();
+        }
+        return Short.parseShort(getString(i));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLength(int i) {
+        checkField(i);
+        return lengths[i];
+    }
+
+    long getParsedValue() {
+        return numbers.getUnscaled();
+    }
+
+    <T> T mapToken(int i, TokenMapper<T> mapper) {
+        checkField(i);
+        return mapper.map(buffer, starts[i], lengths[i]);
+    }
+
+    /**
+     * Parse the specified field as an integer in the specified radix and range, without creating a string. The value is
+     * returned by {@link RecycledLineImpl#getParsedValue()}.
+     *
+     * @return {@code false} if the field isn't an integer in the specified radix and range.
+     */
+    boolean parseInteger(int i, int radix, long min, long max) {
+        checkField(i);
+        return numbers.parseInteger(buffer, starts[i], lengths[i], radix, min, max);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(buffer, starts[i], lengths[i]);
+        }
+        return builder.append(']').toString();
     }
 
     void reset() {
+        Arrays.fill(values, 0, size, null);
         size = 0;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(int i, Writer out) throws IOException {
+        checkField(i);
+        out.write(buffer, starts[i], lengths[i]);
+    }
+
+    /**
+     * Move the fields of this line towards the beginning of the buffer. This method is called when the reader shifts
+     * the content of the buffer.
+     *
+     * @param distance The distance.
+     */
+    void shift(int distance) {
+        for (int i = 0; i < size; i++) {
+            starts[i] -= distance;
+        }
+    }
 }
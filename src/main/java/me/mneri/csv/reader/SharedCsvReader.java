@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import me.mneri.csv.exception.CsvException;
+
+/**
+ * A thread-safe front end of a {@link CsvReader}, for many consumers draining the same csv stream. There is no parser
+ * thread: the consumer that claims the next records parses and deserializes them itself, while holding the lock of
+ * the reader. Each record is returned to exactly one consumer.
+ * <p>
+ * Claiming records in batches with {@link SharedCsvReader#drainTo(Collection, int)} takes the lock once per batch,
+ * which keeps contention low when the processing of a record is cheap compared to its parsing.
+ * <p>
+ * A {@link CsvException} is thrown to the consumer that claimed the malformed line; the other consumers can go on
+ * reading, as they could with the underlying reader.
+ *
+ * @param <T> The type of the Java objects to read.
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class SharedCsvReader<T> implements Closeable {
+    private static final long AWAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Object growth = new Object();
+    private final Object lock = new Object();
+    private final CsvReader<T> reader;
+
+    /**
+     * Create a new shared reader. The reader must not be used directly afterwards.
+     *
+     * @param reader The reader.
+     */
+    public SharedCsvReader(CsvReader<T> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Close the underlying reader.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Claim up to the specified number of records and add them to the specified collection.
+     *
+     * @param batch The collection.
+     * @param max   The maximum number of records.
+     * @return The number of records added; {@code 0} if there are no more records.
+     * @throws CsvException if the csv is not properly formatted. The records claimed before the malformed line are
+     *                      added to the collection.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public int drainTo(Collection<? super T> batch, int max) throws CsvException, IOException {
+        int count = 0;
+        synchronized (lock) {
+            while (count < max && reader.hasNext()) {
+                batch.add(reader.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Claim the next record.
+     *
+     * @return The record, or {@code null} if there are no more records. A reader in follow mode might return more
+     * records once the file has grown.
+     * @throws CsvException if the csv is not properly formatted.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public T poll() throws CsvException, IOException {
+        synchronized (lock) {
+            return reader.hasNext() ? reader.next() : null;
+        }
+    }
+
+    /**
+     * Claim the next record. If the underlying reader follows a file, wait until the next record is written.
+     *
+     * @return The record.
+     * @throws CsvException           if the csv is not properly formatted.
+     * @throws IOException            if an I/O error occurs.
+     * @throws InterruptedException   if the current thread is interrupted while waiting.
+     * @throws NoSuchElementException if there are no more records and the reader doesn't follow a file.
+     * @see CsvReader#follow(java.nio.file.Path, java.nio.charset.Charset, me.mneri.csv.format.FormatProvider,
+     * me.mneri.csv.option.CsvOptions, me.mneri.csv.deserializer.Deserializer)
+     */
+    public T take() throws CsvException, IOException, InterruptedException {
+        T record;
+        while ((record = poll()) == null) {
+            if (!reader.isFollowing()) {
+                throw new NoSuchElementException();
+            }
+            // Waiting doesn't hold the lock, so that other consumers can still poll in the meantime.
+            synchronized (growth) {
+                reader.await(AWAIT_NANOS, TimeUnit.NANOSECONDS);
+            }
+        }
+        return record;
+    }
+}
@@ -0,0 +1,59 @@
+package me.mneri.csv.reader;
+
+/**
+ * A bounded cache of strings, used to deduplicate the values of low cardinality columns. The cache is a fixed-size,
+ * direct-mapped table: the hash of a range of characters selects a slot, and the string in the slot is returned if it
+ * has the same characters as the range. Otherwise a new string is created and replaces the previous one.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class StringCache {
+    private final int mask;
+    private final String[] table;
+
+    /**
+     * Create a new cache.
+     *
+     * @param capacity The number of slots; it is rounded up to the next power of two.
+     */
+    StringCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        table = new String[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Return a string with the characters in the specified range of the buffer. If an equal string is in the cache,
+     * it is returned without allocating.
+     *
+     * @param buffer The buffer.
+     * @param start  The start index of the range.
+     * @param length The length of the range.
+     * @return A string.
+     */
+    String get(char[] buffer, int start, int length) {
+        int h = 0;
+        for (int i = start, end = start + length; i < end; i++) {
+            h = 31 * h + buffer[i];
+        }
+        int slot = (h ^ (h >>> 16)) & mask;
+        String s = table[slot];
+        if (s == null || !matches(s, buffer, start, length)) {
+            s = new String(buffer, start, length);
+            table[slot] = s;
+        }
+        return s;
+    }
+
+    private static boolean matches(String s, char[] buffer, int start, int length) {
+        if (s.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,263 @@
+package me.mneri.csv.reader;
+
+import static me.mneri.csv.reader.DateTimePattern.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Parse dates and times straight from the buffer of the reader. The result of a parse is held in the fields of the
+ * parser until the next parse, so that getters returning primitives don't allocate.
+ */
+final class TemporalParser {
+    static final int DATE = 0;
+    static final int DATE_TIME = 1;
+    static final int INSTANT = 2;
+
+    private static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Object ISO = new Object();
+    private static final int ISO_DATE_LENGTH = 10;
+    private static final int[] POWERS = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    // Timestamp columns tend to repeat the same date on many consecutive lines: the last date of each column is kept,
+    // so that it's parsed and validated once.
+    private DateCache[] caches = new DateCache[0];
+    private DateCache current;
+
+    long epochDay;
+    long nanoOfDay;
+    int offsetSeconds;
+
+    private DateCache cache(int column) {
+        if (column >= caches.length) {
+            caches = Arrays.copyOf(caches, Math.max(column + 1, caches.length * 2));
+        }
+        DateCache cache = caches[column];
+        if (cache == null) {
+            cache = caches[column] = new DateCache();
+        }
+        return cache;
+    }
+
+    private static int digits(char[] b, int off, int len, int p, int n) {
+        int value = 0;
+        for (int k = p; k < p + n; k++) {
+            int digit = b[off + k] - '0';
+            if (digit < 0 || digit > 9) {
+                throw fail(b, off, len, k);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long toEpochDay(char[] b, int off, int len, int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new DateTimeParseException("Invalid date", new String(b, off, len), 0);
+        }
+        // Days from civil, after Howard Hinnant; years are never negative here.
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097L + doe - 719_468L;
+    }
+
+    private static DateTimeParseException fail(char[] b, int off, int len, int index) {
+        String text = new String(b, off, len);
+        return new DateTimeParseException("Text '" + text + "' could not be parsed at index " + index, text, index);
+    }
+
+    LocalDate getLocalDate() {
+        return current != null ? current.getDate() : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Parse an ISO-8601 date ({@code 2018-12-31}), date-time ({@code 2018-12-31T23:59:59.999}, with either
+     * {@code 'T'} or a space between date and time, seconds and fraction being optional) or instant (a date-time
+     * followed by {@code 'Z'} or an offset like {@code +01:00}; date-times without offset are in UTC).
+     */
+    void parse(char[] b, int off, int len, int column, int kind) {
+        if (len < ISO_DATE_LENGTH || b[off + 4] != '-' || b[off + 7] != '-') {
+            throw fail(b, off, len, Math.min(len, 4));
+        }
+        parseDate(b, off, len, column, ISO, ISO_DATE_LENGTH);
+        nanoOfDay = 0;
+        offsetSeconds = 0;
+
+        if (kind == DATE) {
+            if (len != ISO_DATE_LENGTH) {
+                throw fail(b, off, len, ISO_DATE_LENGTH);
+            }
+            return;
+        }
+
+        int p = ISO_DATE_LENGTH;
+        if (len < p + 6 || (b[off + p] != 'T' && b[off + p] != ' ') || b[off + p + 3] != ':') {
+            throw fail(b, off, len, p);
+        }
+        int hour = digits(b, off, len, p + 1, 2);
+        int minute = digits(b, off, len, p + 4, 2);
+        int second = 0;
+        int nano = 0;
+        p += 6;
+        if (p < len && b[off + p] == ':') {
+            if (len < p + 3) {
+                throw fail(b, off, len, p);
+            }
+            second = digits(b, off, len, p + 1, 2);
+            p += 3;
+            if (p < len && (b[off + p] == '.' || b[off + p] == ',')) {
+                int q = ++p;
+                while (p < len && p - q < 9 && b[off + p] >= '0' && b[off + p] <= '9') {
+                    p++;
+                }
+                if (p == q) {
+                    throw fail(b, off, len, p);
+                }
+                nano = digits(b, off, len, q, p - q) * POWERS[9 - (p - q)];
+            }
+        }
+        setTime(b, off, len, hour, minute, second, nano);
+
+        if (kind == INSTANT && p < len) {
+            char c = b[off + p];
+            if (c == 'Z' || c == 'z') {
+                p++;
+            } else if (c == '+' || c == '-') {
+                if (len < p + 3) {
+                    throw fail(b, off, len, p);
+                }
+                int hours = digits(b, off, len, p + 1, 2);
+                int minutes = 0;
+                p += 3;
+                if (p < len) {
+                    if (b[off + p] == ':') {
+                        p++;
+                    }
+                    if (len < p + 2) {
+                        throw fail(b, off, len, p);
+                    }
+                    minutes = digits(b, off, len, p, 2);
+                    p += 2;
+                }
+                if (hours > 18 || minutes > 59) {
+                    throw fail(b, off, len, p);
+                }
+                offsetSeconds = (c == '-' ? -1 : 1) * (hours * 3600 + minutes * 60);
+            }
+        }
+        if (p != len) {
+            throw fail(b, off, len, p);
+        }
+    }
+
+    /**
+     * Parse a field according to the specified pattern.
+     */
+    void parse(char[] b, int off, int len, int column, DateTimePattern pattern) {
+        if (len != pattern.length()) {
+            throw fail(b, off, len, Math.min(len, pattern.length()));
+        }
+        for (int k = 0; k < len; k++) {
+            if (pattern.isLiteral(k) && b[off + k] != pattern.charAt(k)) {
+                throw fail(b, off, len, k);
+            }
+        }
+        parseDate(b, off, len, column, pattern, pattern.datePrefix);
+        offsetSeconds = 0;
+
+        int hour = field(b, off, len, pattern, HOUR);
+        int minute = field(b, off, len, pattern, MINUTE);
+        int second = field(b, off, len, pattern, SECOND);
+        int nano = field(b, off, len, pattern, FRACTION) * POWERS[9 - pattern.widths[FRACTION]];
+        setTime(b, off, len, hour, minute, second, nano);
+    }
+
+    private void parseDate(char[] b, int off, int len, int column, Object owner, int prefix) {
+        DateCache cache = prefix > 0 ? cache(column) : null;
+        if (cache != null && cache.matches(owner, b, off, prefix)) {
+            current = cache;
+            epochDay = cache.epochDay;
+            return;
+        }
+
+        int year, month, day;
+        if (owner == ISO) {
+            year = digits(b, off, len, 0, 4);
+            month = digits(b, off, len, 5, 2);
+            day = digits(b, off, len, 8, 2);
+        } else {
+            DateTimePattern pattern = (DateTimePattern) owner;
+            year = field(b, off, len, pattern, YEAR);
+            year += pattern.widths[YEAR] == 2 ? 2000 : 0;
+            month = field(b, off, len, pattern, MONTH);
+            day = field(b, off, len, pattern, DAY);
+        }
+        epochDay = toEpochDay(b, off, len, year, month, day);
+
+        if (cache != null) {
+            cache.put(owner, b, off, prefix, epochDay);
+        }
+        current = cache;
+    }
+
+    private static int field(char[] b, int off, int len, DateTimePattern pattern, int field) {
+        int position = pattern.positions[field];
+        return position < 0 ? 0 : digits(b, off, len, position, pattern.widths[field]);
+    }
+
+    private void setTime(char[] b, int off, int len, int hour, int minute, int second, int nano) {
+        if (hour > 23 || minute > 59 || second > 59) {
+            throw new DateTimeParseException("Invalid time", new String(b, off, len), 0);
+        }
+        nanoOfDay = hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nano;
+    }
+
+    private static final class DateCache {
+        private LocalDate date;
+        private long epochDay;
+        private char[] key = new char[0];
+        private Object owner;
+
+        LocalDate getDate() {
+            if (date == null) {
+                date = LocalDate.ofEpochDay(epochDay);
+            }
+            return date;
+        }
+
+        boolean matches(Object owner, char[] b, int off, int len) {
+            if (this.owner != owner || key.length != len) {
+                return false;
+            }
+            for (int k = 0; k < len; k++) {
+                if (key[k] != b[off + k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(Object owner, char[] b, int off, int len, long epochDay) {
+            if (key.length != len) {
+                key = new char[len];
+            }
+            System.arraycopy(b, off, key, 0, len);
+            this.date = null;
+            this.epochDay = epochDay;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A mapping from tokens to values, compiled once into a trie and matched directly against the characters of a field
+ * by {@link RecycledLine#getToken(int, TokenMapper)}, {@link RecycledLine#getEnum(int, TokenMapper)} and
+ * {@link RecycledLine#getBoolean(int, TokenMapper)}. Matching a field walks the trie once, character by character,
+ * without creating a {@link String}.
+ * <p>
+ * Example:
+ * <pre>
+ * private static final TokenMapper&lt;Boolean&gt; YES_NO = TokenMapper.ofBooleans("Y", "N");
+ * private static final TokenMapper&lt;Status&gt; STATUS = TokenMapper.ofEnum(Status.class);
+ *
+ * public Order deserialize(RecycledLine line) {
+ *     return new Order(line.getEnum(0, STATUS), line.getBoolean(1, YES_NO));
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the values.
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+public final class TokenMapper<T> {
+    private final boolean ignoreCase;
+    // Node n has the outgoing edges first[n] to first[n + 1] - 1; edge e is labeled with labels[e] and points to
+    // targets[e]. Edges are stored contiguously so that matching walks plain arrays.
+    private final int[] first;
+    private final char[] labels;
+    private final int maxLength;
+    private final int minLength;
+    private final int[] targets;
+    private final Object[] values;
+
+    private TokenMapper(Map<String, ? extends T> tokens, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        // Build a pointer-based trie breadth first, then flatten it.
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Object> nodeValues = new ArrayList<>();
+        children.add(new LinkedHashMap<>());
+        nodeValues.add(null);
+
+        int max = 0, min = Integer.MAX_VALUE;
+        for (Map.Entry<String, ? extends T> entry : tokens.entrySet()) {
+            String token = entry.getKey();
+            if (token == null || entry.getValue() == null) {
+                throw new NullPointerException("token");
+            }
+            int node = 0;
+            for (int k = 0; k < token.length(); k++) {
+                char c = fold(token.charAt(k));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(node).put(c, next);
+                    children.add(new LinkedHashMap<>());
+                    nodeValues.add(null);
+                }
+                node = next;
+            }
+            if (nodeValues.get(node) != null && !nodeValues.get(node).equals(entry.getValue())) {
+                throw new IllegalArgumentException("Ambiguous token: " + token);
+            }
+            nodeValues.set(node, entry.getValue());
+            max = Math.max(max, token.length());
+            min = Math.min(min, token.length());
+        }
+
+        int nodes = children.size();
+        first = new int[nodes + 1];
+        labels = new char[nodes - 1];
+        targets = new int[nodes - 1];
+        values = nodeValues.toArray();
+        maxLength = max;
+        minLength = min;
+
+        int edge = 0;
+        for (int n = 0; n < nodes; n++) {
+            first[n] = edge;
+            for (Map.Entry<Character, Integer> child : children.get(n).entrySet()) {
+                labels[edge] = child.getKey();
+                targets[edge] = child.getValue();
+                edge++;
+            }
+        }
+        first[nodes] = edge;
+    }
+
+    private char fold(char c) {
+        return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+    }
+
+    /**
+     * Return the value mapped to the specified token.
+     *
+     * @param token The token.
+     * @return The value, or {@code null} if the token is not mapped.
+     */
+    public T map(CharSequence token) {
+        char[] chars = new char[token.length()];
+        for (int k = 0; k < chars.length; k++) {
+            chars[k] = token.charAt(k);
+        }
+        return map(chars, 0, chars.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    T map(char[] b, int off, int len) {
+        if (len < minLength || len > maxLength) {
+            return null;
+        }
+        int node = 0;
+        for (int p = off, end = off + len; p < end; p++) {
+            char c = fold(b[p]);
+            int e = first[node], last = first[node + 1];
+            while (e < last && labels[e] != c) {
+                e++;
+            }
+            if (e == last) {
+                return null;
+            }
+            node = targets[e];
+        }
+        return (T) values[node];
+    }
+
+    /**
+     * Return a new mapper from the specified tokens to their values.
+     *
+     * @param tokens     The tokens and their values.
+     * @param ignoreCase {@code true} to match the tokens ignoring case.
+     * @param <T>        The type of the values.
+     * @return The mapper.
+     * @throws IllegalArgumentException if two tokens are equal ignoring case but are mapped to different values.
+     */
+    public static <T> TokenMapper<T> of(Map<String, ? extends T> tokens, boolean ignoreCase) {
+        return new TokenMapper<>(tokens, ignoreCase);
+    }
+
+    /**
+     * Return a new mapper from the specified tokens to {@code true} and {@code false}, ignoring case.
+     *
+     * @param trueToken  The token mapped to {@code true}.
+     * @param falseToken The token mapped to {@code false}.
+     * @return The mapper.
+     */
+    public static TokenMapper<Boolean> ofBooleans(String trueToken, String falseToken) {
+        Map<String, Boolean> tokens = new HashMap<>();
+        tokens.put(trueToken, Boolean.TRUE);
+        tokens.put(falseToken, Boolean.FALSE);
+        return new TokenMapper<>(tokens, true);
+    }
+
+    /**
+     * Return a new mapper from the names of the constants of the specified enum to the constants.
+     *
+     * @param type The enum type.
+     * @param <E>  The enum type.
+     * @return The mapper.
+     */
+    public static <E extends Enum<E>> TokenMapper<E> ofEnum(Class<E> type) {
+        Map<String, E> tokens = new HashMap<>();
+        for (E constant : type.getEnumConstants()) {
+            tokens.put(constant.name(), constant);
+        }
+        return new TokenMapper<>(tokens, false);
+    }
+}
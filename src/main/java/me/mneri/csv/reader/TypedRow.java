@@ -0,0 +1,342 @@
+/*
+ * Copyright 2018 Massimo Neri <hello@mneri.me>
+ *
+ * This file is part of mneri/csv.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package me.mneri.csv.reader;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The values of a csv line converted according to a {@link CsvSchema}. Primitive values are stored unboxed and
+ * returned by the primitive getters without allocation; the getters of a primitive type return zero for missing values,
+ * which can be told apart through {@link TypedRow#isNull(int)}.
+ * <p>
+ * Like {@link RecycledLine}, instances of this class are reused by {@link CsvReader} and shouldn't be used outside the
+ * scope of the method they're provided to.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ * @see RecycledLine#getRow()
+ */
+public final class TypedRow {
+    private static final TokenMapper<Boolean> BOOLEANS = TokenMapper.ofBooleans("true", "false");
+
+    private final long[] bits;
+    private final Converter[] converters;
+    private final long[] defaultBits;
+    private RecycledLineImpl line;
+    private final Object[] defaultObjects;
+    private final boolean[] defaults;
+    private final boolean[] nulls;
+    private final Object[] objects;
+    private final CsvSchema schema;
+    private final ColumnType[] types;
+
+    TypedRow(CsvSchema schema) {
+        int size = schema.size();
+
+        this.schema = schema;
+        bits = new long[size];
+        converters = new Converter[size];
+        defaultBits = new long[size];
+        defaultObjects = new Object[size];
+        defaults = new boolean[size];
+        nulls = new boolean[size];
+        objects = new Object[size];
+        types = new ColumnType[size];
+
+        for (int i = 0; i < size; i++) {
+            CsvSchema.Column column = schema.getColumn(i);
+            Object value = column.getDefaultValue();
+            types[i] = column.getType();
+            converters[i] = converter(column.getType(), column.getRadix());
+            if (value != null) {
+                defaults[i] = true;
+                boolean big = types[i] == ColumnType.BIG_DECIMAL || types[i] == ColumnType.BIG_INTEGER;
+                if (value instanceof Number && !big) {
+                    defaultBits[i] = isFloating(types[i]) ? Double.doubleToRawLongBits(((Number) value).doubleValue())
+                                                          : ((Number) value).longValue();
+                } else if (value instanceof Boolean) {
+                    defaultBits[i] = (Boolean) value ? 1 : 0;
+                } else {
+                    defaultObjects[i] = value;
+                }
+            }
+        }
+    }
+
+    private void check(int i, ColumnType type) {
+        if (types[i] != type) {
+            throw new ClassCastException("Column " + i + " is " + types[i] + ", not " + type);
+        }
+    }
+
+    private static Converter converter(ColumnType type, int radix) {
+        //@formatter:off
+        switch (type) {
+            case BIG_DECIMAL: return (row, i) -> row.setObject(i, row.line.getBigDecimal(i));
+            case BIG_INTEGER: return (row, i) -> row.setObject(i, new BigInteger(row.line.getString(i), radix));
+            case BOOLEAN:     return TypedRow::convertBoolean;
+            case DOUBLE:      return (row, i) -> row.setBits(i, Double.doubleToRawLongBits(row.line.getDoubleValue(i)));
+            case FLOAT:       return (row, i) -> row.setBits(i, Double.doubleToRawLongBits(row.line.getFloatValue(i)));
+            case INTEGER:     return (row, i) -> row.convertInteger(i, radix, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case LONG:        return (row, i) -> row.convertInteger(i, radix, Long.MIN_VALUE, Long.MAX_VALUE);
+            case SHORT:       return (row, i) -> row.convertInteger(i, radix, Short.MIN_VALUE, Short.MAX_VALUE);
+            case STRING:      return (row, i) -> row.setObject(i, row.line.getString(i));
+            default:          throw new AssertionError(type);
+        }
+        //@formatter:on
+    }
+
+    private boolean convertBoolean(int i) {
+        Boolean value = line.mapToken(i, BOOLEANS);
+        if (value == null) {
+            return false;
+        }
+        bits[i] = value ? 1 : 0;
+        return true;
+    }
+
+    private boolean convertInteger(int i, int radix, long min, long max) {
+        // Integers are parsed straight from the buffer of the line, and malformed ones are reported without throwing.
+        if (!line.parseInteger(i, radix, min, max)) {
+            return false;
+        }
+        bits[i] = line.getParsedValue();
+        return true;
+    }
+
+    /**
+     * Convert the fields of the specified line.
+     *
+     * @param line The line.
+     * @return {@code null} if the line conforms to the schema, the description of the violation otherwise.
+     */
+    String fill(RecycledLineImpl line) {
+        int count = line.getFieldCount();
+        this.line = line;
+
+        if (count > types.length) {
+            return "expected " + types.length + " fields, found " + count + ".";
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            bits[i] = 0;
+            nulls[i] = false;
+            objects[i] = null;
+
+            if (i >= count || line.getLength(i) == 0) {
+                if (defaults[i]) {
+                    bits[i] = defaultBits[i];
+                    objects[i] = defaultObjects[i];
+                } else if (schema.getColumn(i).isNullable()) {
+                    nulls[i] = true;
+                } else {
+                    return "missing value in column " + schema.getColumn(i).getName() + ".";
+                }
+            } else if (!convert(i)) {
+                return "illegal value in column " + schema.getColumn(i).getName() + ": " + line.getString(i) + ".";
+            }
+        }
+
+        return null;
+    }
+
+    private boolean convert(int i) {
+        try {
+            return converters[i].convert(this, i);
+        } catch (RuntimeException e) {
+            // Decimals and big integers are still parsed by the JDK, which throws on malformed values.
+            return false;
+        }
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#BIG_DECIMAL} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code null} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public BigDecimal getBigDecimal(int i) {
+        check(i, ColumnType.BIG_DECIMAL);
+        return (BigDecimal) objects[i];
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#BIG_INTEGER} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code null} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public BigInteger getBigInteger(int i) {
+        check(i, ColumnType.BIG_INTEGER);
+        return (BigInteger) objects[i];
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#BOOLEAN} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code false} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public boolean getBoolean(int i) {
+        check(i, ColumnType.BOOLEAN);
+        return bits[i] != 0;
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#DOUBLE} or {@link ColumnType#FLOAT} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code 0} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public double getDouble(int i) {
+        if (types[i] != ColumnType.FLOAT) {
+            check(i, ColumnType.DOUBLE);
+        }
+        return Double.longBitsToDouble(bits[i]);
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#FLOAT} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code 0} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public float getFloat(int i) {
+        check(i, ColumnType.FLOAT);
+        return (float) Double.longBitsToDouble(bits[i]);
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#INTEGER} or {@link ColumnType#SHORT} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code 0} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public int getInt(int i) {
+        if (types[i] != ColumnType.SHORT) {
+            check(i, ColumnType.INTEGER);
+        }
+        return (int) bits[i];
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#LONG}, {@link ColumnType#INTEGER} or {@link ColumnType#SHORT}
+     * column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code 0} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public long getLong(int i) {
+        if (types[i] != ColumnType.SHORT && types[i] != ColumnType.INTEGER) {
+            check(i, ColumnType.LONG);
+        }
+        return bits[i];
+    }
+
+    /**
+     * Return the value of the specified column, boxed if primitive.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code null} if the value is missing.
+     */
+    public Object getObject(int i) {
+        if (nulls[i]) {
+            return null;
+        }
+        //@formatter:off
+        switch (types[i]) {
+            case BOOLEAN: return bits[i] != 0;
+            case DOUBLE:  return Double.longBitsToDouble(bits[i]);
+            case FLOAT:   return (float) Double.longBitsToDouble(bits[i]);
+            case INTEGER: return (int) bits[i];
+            case LONG:    return bits[i];
+            case SHORT:   return (short) bits[i];
+            default:      return objects[i];
+        }
+        //@formatter:on
+    }
+
+    /**
+     * Return the schema of this row.
+     *
+     * @return The schema.
+     */
+    public CsvSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#SHORT} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code 0} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public short getShort(int i) {
+        check(i, ColumnType.SHORT);
+        return (short) bits[i];
+    }
+
+    /**
+     * Return the value of the specified {@link ColumnType#STRING} column.
+     *
+     * @param i The index of the column.
+     * @return The value, or {@code null} if the value is missing.
+     * @throws ClassCastException if the column isn't of the specified type.
+     */
+    public String getString(int i) {
+        check(i, ColumnType.STRING);
+        return (String) objects[i];
+    }
+
+    private boolean setBits(int i, long value) {
+        bits[i] = value;
+        return true;
+    }
+
+    private boolean setObject(int i, Object value) {
+        objects[i] = value;
+        return true;
+    }
+
+    private static boolean isFloating(ColumnType type) {
+        return type == ColumnType.DOUBLE || type == ColumnType.FLOAT;
+    }
+
+    /**
+     * Return {@code true} if the value of the specified column is missing and the column has no default value.
+     *
+     * @param i The index of the column.
+     * @return {@code true} if the value is missing.
+     */
+    public boolean isNull(int i) {
+        return nulls[i];
+    }
+
+    interface Converter {
+        boolean convert(TypedRow row, int i);
+    }
+}
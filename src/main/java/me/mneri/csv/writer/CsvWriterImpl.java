@@ -41,11 +41,13 @@ class CsvWriterImpl<T> implements CsvWriter<T> {
     private static final int CLOSED = 1;
 
     private final int delimiter;
+    private final WriterEvents events = new WriterEvents();
     private final List<String> line;
     private final int quotation;
     private final CsvSerializer<T> serializer;
     private int state = OPENED;
     private final Writer writer;
+    private long unflushed;
 
     CsvWriterImpl(Writer writer, CsvOptions options, CsvSerializer<T> serializer) {
         this.writer = writer;
@@ -74,7 +76,7 @@ class CsvWriterImpl<T> implements CsvWriter<T> {
 
         state = CLOSED;
         line.clear();
-        writer.flush();
+        flushWriter();
         writer.close();
     }
 
@@ -84,7 +86,16 @@ class CsvWriterImpl<T> implements CsvWriter<T> {
     @Override
     public void flush() throws IOException {
         checkClosedState();
+        flushWriter();
+    }
+
+    private void flushWriter() throws IOException {
+        Object event = events.beginFlush();
         writer.flush();
+        if (event != null) {
+            events.endFlush(event, unflushed);
+        }
+        unflushed = 0;
     }
 
     private boolean isQuotingNeeded(String string) {
@@ -181,5 +192,6 @@ class CsvWriterImpl<T> implements CsvWriter<T> {
         }
 
         writer.write("\r\n");
+        unflushed++;
     }
 }
@@ -0,0 +1,27 @@
+package me.mneri.csv.writer;
+
+/**
+ * The Java Flight Recorder events of a writer. This implementation emits nothing: on Java 11 and later it is replaced
+ * by the one in {@code META-INF/versions/11}, which emits the events enabled in the running recordings.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class WriterEvents {
+    /**
+     * Start the event of the writer being flushed.
+     *
+     * @return The event, or {@code null} if the event is disabled.
+     */
+    Object beginFlush() {
+        return null;
+    }
+
+    /**
+     * End the event of the writer being flushed.
+     *
+     * @param event The event returned by {@link #beginFlush()}.
+     * @param lines The number of lines written since the previous flush.
+     */
+    void endFlush(Object event, long lines) {
+    }
+}
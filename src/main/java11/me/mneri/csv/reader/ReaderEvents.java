@@ -0,0 +1,226 @@
+package me.mneri.csv.reader;
+
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder events of a reader. The events are disabled by default, and must be enabled in the settings
+ * of the recording: a disabled event costs a check of its state, and allocates nothing.
+ * <p>
+ * The classes of the events are only loaded if the {@code jdk.jfr} module is part of the runtime.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class ReaderEvents {
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+    private static final long SAMPLE_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    private final Object session = AVAILABLE ? Recorder.beginSession() : null;
+    private long sampleCharacters;
+    private long sampleRecords;
+    private long sampleStart;
+    private boolean sampling;
+
+    Object beginDeserialize() {
+        return AVAILABLE ? Recorder.beginDeserialize() : null;
+    }
+
+    void bufferMoved(int from, int to, int lineLength) {
+        if (AVAILABLE) {
+            Recorder.bufferMoved(from, to, lineLength);
+        }
+    }
+
+    void closed(String source, long bytes, long characters, long records) {
+        if (session != null) {
+            Recorder.endSession(session, source, bytes, characters, records);
+        }
+    }
+
+    void endDeserialize(Object event, long line) {
+        Recorder.endDeserialize(event, line);
+    }
+
+    void read(long characters, long records) {
+        if (!AVAILABLE || !Recorder.isThroughputEnabled()) {
+            sampling = false;
+            return;
+        }
+        long now = System.nanoTime();
+        if (sampling && now - sampleStart >= SAMPLE_PERIOD) {
+            Recorder.throughput(characters - sampleCharacters, records - sampleRecords, now - sampleStart);
+            sampling = false;
+        }
+        if (!sampling) {
+            sampleCharacters = characters;
+            sampleRecords = records;
+            sampleStart = now;
+            sampling = true;
+        }
+    }
+
+    /**
+     * The only class that refers to {@code jdk.jfr}.
+     */
+    private static final class Recorder {
+        private static final EventType BUFFER = EventType.getEventType(BufferEvent.class);
+        private static final EventType DESERIALIZE = EventType.getEventType(DeserializeEvent.class);
+        private static final EventType SESSION = EventType.getEventType(SessionEvent.class);
+        private static final EventType THROUGHPUT = EventType.getEventType(ThroughputEvent.class);
+
+        static Object beginDeserialize() {
+            if (!DESERIALIZE.isEnabled()) {
+                return null;
+            }
+            DeserializeEvent event = new DeserializeEvent();
+            event.begin();
+            return event;
+        }
+
+        static Object beginSession() {
+            if (!SESSION.isEnabled()) {
+                return null;
+            }
+            SessionEvent event = new SessionEvent();
+            event.begin();
+            return event;
+        }
+
+        static void bufferMoved(int from, int to, int lineLength) {
+            if (BUFFER.isEnabled()) {
+                BufferEvent event = new BufferEvent();
+                event.oldCapacity = from;
+                event.newCapacity = to;
+                event.lineLength = lineLength;
+                event.commit();
+            }
+        }
+
+        static void endDeserialize(Object object, long line) {
+            DeserializeEvent event = (DeserializeEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.line = line;
+                event.commit();
+            }
+        }
+
+        static void endSession(Object object, String source, long bytes, long characters, long records) {
+            SessionEvent event = (SessionEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.source = source;
+                event.bytes = bytes;
+                event.characters = characters;
+                event.records = records;
+                event.commit();
+            }
+        }
+
+        static boolean isThroughputEnabled() {
+            return THROUGHPUT.isEnabled();
+        }
+
+        static void throughput(long characters, long records, long nanos) {
+            ThroughputEvent event = new ThroughputEvent();
+            event.characters = characters;
+            event.records = records;
+            event.elapsed = nanos;
+            event.characterRate = characters * 1e9 / nanos;
+            event.recordRate = records * 1e9 / nanos;
+            event.commit();
+        }
+    }
+
+    @Name("me.mneri.csv.BufferMove")
+    @Label("CSV Buffer Move")
+    @Description("The current line has been moved to the beginning of the buffer of a reader")
+    @Category({"CSV", "Reader"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class BufferEvent extends Event {
+        @Label("Old Capacity")
+        @Description("The number of characters the old buffer can hold")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        @Description("The number of characters the new buffer can hold")
+        int newCapacity;
+
+        @Label("Line Length")
+        @Description("The number of characters of the line being read")
+        int lineLength;
+    }
+
+    @Name("me.mneri.csv.Deserialize")
+    @Label("CSV Deserialize")
+    @Description("A line whose deserialization took longer than the threshold")
+    @Category({"CSV", "Reader"})
+    @Enabled(false)
+    @StackTrace(false)
+    @Threshold("10 ms")
+    static final class DeserializeEvent extends Event {
+        @Label("Line")
+        long line;
+    }
+
+    @Name("me.mneri.csv.Read")
+    @Label("CSV Read")
+    @Description("A reader, from the time it has been opened to the time it has been closed")
+    @Category({"CSV", "Reader"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SessionEvent extends Event {
+        @Label("Source")
+        String source;
+
+        @Label("Bytes")
+        @Description("The number of bytes read, or -1 if the reader doesn't read bytes")
+        @DataAmount(DataAmount.BYTES)
+        long bytes;
+
+        @Label("Characters")
+        long characters;
+
+        @Label("Records")
+        long records;
+    }
+
+    @Name("me.mneri.csv.ReadThroughput")
+    @Label("CSV Read Throughput")
+    @Description("The progress of a reader over about a second")
+    @Category({"CSV", "Reader"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ThroughputEvent extends Event {
+        @Label("Characters")
+        long characters;
+
+        @Label("Records")
+        long records;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("Character Rate")
+        @Frequency
+        double characterRate;
+
+        @Label("Record Rate")
+        @Frequency
+        double recordRate;
+    }
+}
@@ -0,0 +1,67 @@
+package me.mneri.csv.writer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events of a writer. The events are disabled by default, and must be enabled in the settings
+ * of the recording: a disabled event costs a check of its state, and allocates nothing.
+ * <p>
+ * The classes of the events are only loaded if the {@code jdk.jfr} module is part of the runtime.
+ *
+ * @author Massimo Neri &lt;<a href="mailto:hello@mneri.me">hello@mneri.me</a>&gt;
+ */
+final class WriterEvents {
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    Object beginFlush() {
+        return AVAILABLE ? Recorder.beginFlush() : null;
+    }
+
+    void endFlush(Object event, long lines) {
+        Recorder.endFlush(event, lines);
+    }
+
+    /**
+     * The only class that refers to {@code jdk.jfr}.
+     */
+    private static final class Recorder {
+        private static final EventType FLUSH = EventType.getEventType(FlushEvent.class);
+
+        static Object beginFlush() {
+            if (!FLUSH.isEnabled()) {
+                return null;
+            }
+            FlushEvent event = new FlushEvent();
+            event.begin();
+            return event;
+        }
+
+        static void endFlush(Object object, long lines) {
+            FlushEvent event = (FlushEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.lines = lines;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("me.mneri.csv.Flush")
+    @Label("CSV Flush")
+    @Description("A writer has been flushed")
+    @Category({"CSV", "Writer"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class FlushEvent extends Event {
+        @Label("Lines")
+        @Description("The number of lines written since the previous flush")
+        long lines;
+    }
+}
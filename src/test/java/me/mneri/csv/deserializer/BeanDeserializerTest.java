@@ -0,0 +1,193 @@
+package me.mneri.csv.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.reader.CsvReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BeanDeserializerTest {
+    public enum Kind {
+        A, B
+    }
+
+    public static class Bean {
+        private int age;
+        private Kind kind;
+        private String name;
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setKind(Kind kind) {
+            this.kind = kind;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + age + ":" + kind;
+        }
+    }
+
+    public static class Immutable {
+        private final BigDecimal amount;
+        private final String name;
+
+        public Immutable(String name, BigDecimal amount) {
+            this.amount = amount;
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + amount;
+        }
+    }
+
+    public static class Primitives {
+        private boolean flag;
+        private double ratio;
+        private float score;
+        private int count;
+        private long id;
+        private short code;
+        private Integer boxed;
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public void setScore(float score) {
+            this.score = score;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setCode(short code) {
+            this.code = code;
+        }
+
+        public void setBoxed(Integer boxed) {
+            this.boxed = boxed;
+        }
+
+        @Override
+        public String toString() {
+            return flag + ":" + ratio + ":" + score + ":" + count + ":" + id + ":" + code + ":" + boxed;
+        }
+    }
+
+    public static class ImmutablePrimitives {
+        private final String text;
+
+        public ImmutablePrimitives(boolean flag, double ratio, float score, int count, long id, short code,
+                                   Kind kind) {
+            text = flag + ":" + ratio + ":" + score + ":" + count + ":" + id + ":" + code + ":" + kind;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final String[] PRIMITIVES = {"flag", "ratio", "score", "count", "id", "code", "boxed"};
+
+    private static <T> String read(String csv, Deserializer<T> deserializer) throws Exception {
+        try (CsvReader<T> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                deserializer)) {
+            return String.valueOf(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Bind columns to setters, skipping unmapped columns and leaving empty primitives to default.")
+    public void setters() throws Exception {
+        Deserializer<Bean> deserializer = BeanDeserializer.of(Bean.class, "name", null, "age", "kind");
+        assertEquals("alice:30:B", read("alice,x,30,B\r\n", deserializer));
+        assertEquals("bob:0:null", read("bob,x,,\r\n", deserializer));
+    }
+
+    @Test
+    @DisplayName("Bind columns to the parameters of a constructor.")
+    public void constructor() throws Exception {
+        assertEquals("alice:1.50", read("alice,x,1.50\r\n", BeanDeserializer.of(Immutable.class, "name", null, "amount")));
+    }
+
+    @Test
+    @DisplayName("Bind primitive columns to setters, leaving empty fields to the default value.")
+    public void primitiveSetters() throws Exception {
+        Deserializer<Primitives> deserializer = BeanDeserializer.of(Primitives.class, PRIMITIVES);
+        assertEquals("true:1.5:2.25:-7:9000000000:12:3",
+                read("true,1.5,2.25,-7,9000000000,12,3\r\n", deserializer));
+        assertEquals("false:0.0:0.0:0:0:0:null", read(",,,,,,\r\n", deserializer));
+        assertThrows(CsvConversionException.class, () -> read("true,1,1,x,1,1,1\r\n", deserializer));
+    }
+
+    @Test
+    @DisplayName("Bind primitive columns to the parameters of a constructor, defaulting empty and missing fields.")
+    public void primitiveConstructor() throws Exception {
+        Deserializer<ImmutablePrimitives> deserializer = BeanDeserializer.of(ImmutablePrimitives.class,
+                "flag", "ratio", "score", "count", "id", "code", "kind");
+        assertEquals("true:1.5:2.25:-7:9000000000:12:B", read("true,1.5,2.25,-7,9000000000,12,B\r\n", deserializer));
+        assertEquals("false:0.0:0.0:0:0:0:null", read(",,,,,,\r\n", deserializer));
+        assertEquals("true:0.0:0.0:0:0:0:null", read("true\r\n", deserializer));
+    }
+
+    @Test
+    @DisplayName("Bind a class that isn't visible from the deserializer, verify the method handle fallback.")
+    public void invisibleClass() throws Exception {
+        String name = Primitives.class.getName();
+        ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String className, boolean resolve) throws ClassNotFoundException {
+                if (!className.equals(name)) {
+                    return super.loadClass(className, resolve);
+                }
+                try (InputStream in = getParent().getResourceAsStream(className.replace('.', '/') + ".class")) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] chunk = new byte[4096];
+                    for (int n; (n = in.read(chunk)) > 0; ) {
+                        bytes.write(chunk, 0, n);
+                    }
+                    return defineClass(className, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(className, e);
+                }
+            }
+        };
+        Class<?> type = loader.loadClass(name);
+        assertEquals("true:1.5:2.25:-7:9000000000:12:3",
+                read("true,1.5,2.25,-7,9000000000,12,3\r\n", BeanDeserializer.of(type, PRIMITIVES)));
+    }
+
+    @Test
+    @DisplayName("Reject a property without setter.")
+    public void missingProperty() {
+        assertThrows(IllegalArgumentException.class, () -> BeanDeserializer.of(Bean.class, "missing"));
+    }
+}
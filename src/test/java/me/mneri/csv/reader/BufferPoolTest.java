@@ -0,0 +1,170 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BufferPoolTest {
+    private static final String CSV = "a,1\r\nb,2\r\n";
+
+    private static CsvReader<String> open(String csv, BufferPool pool) throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setBufferPool(pool);
+        return CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(), options,
+                line -> line.getString(1));
+    }
+
+    @Test
+    @DisplayName("Borrow buffers of many lengths, verify they are rounded to the size class and counted.")
+    public void capacity() throws Exception {
+        BufferPool pool = new BufferPool(131_072);
+        char[] small = pool.acquire(100);
+        assertEquals(4096, small.length);
+        assertEquals(8192, pool.getAllocated());
+        char[] large = pool.acquire(20_000);
+        assertEquals(32_768, large.length);
+        assertEquals(8192 + 65_536, pool.getAllocated());
+        assertThrows(IOException.class, () -> pool.acquire(70_000));
+        assertEquals(8192 + 65_536, pool.getAllocated());
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(0));
+    }
+
+    @Test
+    @DisplayName("Borrow from an exhausted pool, verify the thread waits until a buffer is given back.")
+    public void backpressure() throws Exception {
+        BufferPool pool = new BufferPool(65_536);
+        char[] first = pool.acquire(32_768);
+        AtomicReference<char[]> second = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                second.set(pool.acquire(32_768));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        thread.start();
+        thread.join(200);
+        assertTrue(thread.isAlive());
+
+        pool.release(first);
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertSame(first, second.get());
+        assertEquals(65_536, pool.getAllocated());
+    }
+
+    @Test
+    @DisplayName("Try to borrow from an exhausted pool, verify it returns null until a buffer is given up.")
+    public void tryAcquire() throws Exception {
+        BufferPool pool = new BufferPool(131_072);
+        char[] first = pool.acquire(32_768);
+        assertNull(pool.tryAcquire(65_536));
+        assertNull(pool.tryAcquire(1 << 20));
+
+        pool.discard(first);
+        assertEquals(0, pool.getAllocated());
+        assertThrows(IllegalArgumentException.class, () -> pool.release(first));
+        char[] grown = pool.tryAcquire(65_536);
+        assertEquals(65_536, grown.length);
+        assertEquals(131_072, pool.getAllocated());
+        assertEquals(1, pool.getBorrowed());
+    }
+
+    @Test
+    @DisplayName("Read a long line with a pool that has room, verify the buffer grows without giving up the old one.")
+    public void grow() throws Exception {
+        char[] blob = new char[40_000];
+        Arrays.fill(blob, 'x');
+        BufferPool pool = new BufferPool(1 << 20);
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(1 << 20);
+        options.setBufferPool(pool);
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("a," + new String(blob) + "\r\nb,2\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getString(1))) {
+            assertEquals(new String(blob), reader.next());
+            assertEquals(1, pool.getBorrowed());
+            assertEquals("2", reader.next());
+        }
+        // The initial buffer went back to the pool when the line grew, and was borrowed again when it shrank.
+        assertEquals(65_536 + 131_072, pool.getAllocated());
+        assertEquals(0, pool.getBorrowed());
+    }
+
+    @Test
+    @DisplayName("Borrow a buffer of another size class from a full pool, verify idle buffers are discarded.")
+    public void eviction() throws Exception {
+        BufferPool pool = new BufferPool(131_072);
+        char[] small = pool.acquire(4096);
+        char[] medium = pool.acquire(32_768);
+        pool.release(small);
+        pool.release(medium);
+        assertEquals(8192 + 65_536, pool.getAllocated());
+
+        char[] large = pool.acquire(65_536);
+        assertEquals(65_536, large.length);
+        assertEquals(131_072, pool.getAllocated());
+        assertEquals(1, pool.getBorrowed());
+    }
+
+    @Test
+    @DisplayName("Give back a buffer twice or a buffer of another pool, verify it throws IllegalArgumentException.")
+    public void release() throws Exception {
+        BufferPool pool = new BufferPool(65_536);
+        char[] buffer = pool.acquire(4096);
+        pool.release(buffer);
+        assertThrows(IllegalArgumentException.class, () -> pool.release(buffer));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(new char[4096]));
+        assertEquals(8192, pool.getAllocated());
+        assertEquals(0, pool.getBorrowed());
+    }
+
+    @Test
+    @DisplayName("Reset an open reader, verify it keeps its buffer and gives it back once on close.")
+    public void reset() throws Exception {
+        BufferPool pool = new BufferPool(65_536);
+        CsvReader<String> reader = open(CSV, pool);
+        assertEquals("1", reader.next());
+        assertEquals(1, pool.getBorrowed());
+
+        reader.reset(new StringReader("c,3\r\n"));
+        assertEquals("3", reader.next());
+        assertFalse(reader.hasNext());
+        assertEquals(1, pool.getBorrowed());
+        assertEquals(65_536, pool.getAllocated());
+
+        reader.close();
+        reader.close();
+        assertEquals(0, pool.getBorrowed());
+    }
+
+    @Test
+    @DisplayName("Reset a closed reader, verify it borrows a buffer again and reads the new input.")
+    public void resetAfterClose() throws Exception {
+        BufferPool pool = new BufferPool(65_536);
+        CsvReader<String> reader = open(CSV, pool);
+        assertEquals("1", reader.next());
+        reader.close();
+        assertEquals(0, pool.getBorrowed());
+
+        reader.reset(new StringReader("c,3\r\n"));
+        assertEquals("3", reader.next());
+        assertEquals(1, pool.getBorrowed());
+        reader.close();
+        assertEquals(0, pool.getBorrowed());
+        assertEquals(65_536, pool.getAllocated());
+    }
+}
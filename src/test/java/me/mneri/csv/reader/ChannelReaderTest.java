@@ -0,0 +1,73 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ChannelReaderTest {
+    private static List<String> read(byte[] bytes, Charset charset) throws Exception {
+        List<String> values = new ArrayList<>();
+        try (CsvReader<String> reader = CsvReader.open(Channels.newChannel(new ByteArrayInputStream(bytes)), charset,
+                new Rfc4180StrictFormat.Provider(), line -> line.getString(0))) {
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+        }
+        return values;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    @Test
+    @DisplayName("Read channels starting with byte order marks, verify the marks are removed and take precedence.")
+    public void byteOrderMarks() throws Exception {
+        byte[] bom = {(byte) 0xef, (byte) 0xbb, (byte) 0xbf};
+        byte[] utf8 = concat(bom, "a\u00e9\r\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("a\u00e9", read(utf8, StandardCharsets.UTF_8).get(0));
+        assertEquals("a\u00e9", read(utf8, StandardCharsets.ISO_8859_1).get(0));
+
+        byte[] utf16 = concat(new byte[]{(byte) 0xff, (byte) 0xfe}, "\u20acb\r\n".getBytes(StandardCharsets.UTF_16LE));
+        assertEquals("\u20acb", read(utf16, StandardCharsets.UTF_8).get(0));
+    }
+
+    @Test
+    @DisplayName("Read single-byte charsets, verify bytes are widened and non-ASCII bytes are replaced in US-ASCII.")
+    public void singleByteCharsets() throws Exception {
+        byte[] bytes = {'a', (byte) 0xe9, '\r', '\n'};
+        assertEquals("a\u00e9", read(bytes, StandardCharsets.ISO_8859_1).get(0));
+        assertEquals("a\ufffd", read(bytes, StandardCharsets.US_ASCII).get(0));
+    }
+
+    @Test
+    @DisplayName("Read a large UTF-8 channel, verify characters split across reads are decoded.")
+    public void largeInput() throws Exception {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        String alphabet = "ab\u00e9\u20ac\ud83d\ude00";
+        while (csv.length() < 300_000) {
+            StringBuilder value = new StringBuilder();
+            for (int i = random.nextInt(40); i >= 0; i--) {
+                value.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0, random.nextInt(5))));
+            }
+            expected.add(value.toString());
+            csv.append(value).append("\r\n");
+        }
+        assertEquals(expected, read(csv.toString().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+    }
+}
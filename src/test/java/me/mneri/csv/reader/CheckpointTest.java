@@ -0,0 +1,130 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.format.MsExcelFormat;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CheckpointTest {
+    private static final Deserializer<String> FIRST = line -> line.getString(0);
+
+    @Test
+    @DisplayName("Take a checkpoint after two lines, resume from it and read the remaining lines.")
+    public void resume() throws Exception {
+        String csv = "a,1\r\n\"b\r\nb\",2\r\nc,3\r\nd,4\r\n";
+        Checkpoint checkpoint;
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(), FIRST)) {
+            reader.next();
+            reader.next();
+            reader.hasNext(); // Preparing the third line must not move the checkpoint.
+            checkpoint = reader.checkpoint();
+        }
+
+        assertEquals(csv.indexOf("c,3"), checkpoint.getPosition());
+        assertEquals(2, checkpoint.getLineNumber());
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(), FIRST,
+                checkpoint)) {
+            assertEquals("c", reader.next());
+            assertEquals("d", reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Resume a MsExcelFormat file, verify the delimiter found in the sep specification is kept.")
+    public void resumeFormatState() throws Exception {
+        String csv = "sep=|\r\na|1\r\nb|2\r\n";
+        MsExcelFormat.Provider provider = new MsExcelFormat.Provider(Locale.US);
+        Checkpoint checkpoint;
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), provider, FIRST)) {
+            reader.next();
+            checkpoint = reader.checkpoint();
+        }
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), provider, FIRST, checkpoint)) {
+            assertEquals("b", reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Resume a UTF-8 file from a checkpoint, verify the channel is moved to the byte offset.")
+    public void resumeBytes() throws Exception {
+        String head = "\u00e8,1\r\n\u20ac\ud83d\ude00,2\r\n";
+        String csv = "\ufeff" + head + "c,3\r\nd,4\r\n";
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        Path path = Files.createTempFile("checkpoint", ".csv");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes);
+        Checkpoint checkpoint;
+
+        try (CsvReader<String> reader = CsvReader.open(path, StandardCharsets.UTF_8,
+                new Rfc4180StrictFormat.Provider(), FIRST)) {
+            assertEquals("\u00e8", reader.next());
+            assertEquals("\u20ac\ud83d\ude00", reader.next());
+            reader.hasNext();
+            checkpoint = reader.checkpoint();
+        }
+
+        long byteOffset = 3 + head.getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(byteOffset, checkpoint.getByteOffset());
+        assertEquals(head.length(), checkpoint.getPosition());
+
+        ReaderMetrics metrics = new ReaderMetrics();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMetrics(metrics);
+        try (CsvReader<String> reader = CsvReader.open(path, StandardCharsets.UTF_8,
+                new Rfc4180StrictFormat.Provider(), options, FIRST, checkpoint)) {
+            assertEquals("c", reader.next());
+            assertEquals(new Checkpoint(head.length() + 5, 3, 0, byteOffset + 5), reader.checkpoint());
+            assertEquals("d", reader.next());
+            assertFalse(reader.hasNext());
+        }
+        assertEquals(bytes.length - byteOffset, metrics.getBytesRead());
+
+        try (CsvReader<String> reader = CsvReader.open(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                StandardCharsets.UTF_8, new Rfc4180StrictFormat.Provider(), options, FIRST, checkpoint)) {
+            assertEquals("c", reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Take checkpoints whose byte offset can't be told, verify it is unknown.")
+    public void unknownBytes() throws Exception {
+        byte[] bom = "\ufeffa,1\r\nb,2\r\n".getBytes(StandardCharsets.UTF_8);
+        try (CsvReader<String> reader = CsvReader.open(Channels.newChannel(new ByteArrayInputStream(bom)),
+                StandardCharsets.ISO_8859_1, new Rfc4180StrictFormat.Provider(), CsvOptions.defaultOptions(), FIRST)) {
+            assertEquals("a", reader.next());
+            assertEquals(-1, reader.checkpoint().getByteOffset());
+        }
+
+        // Only the characters past the checkpoint matter: the length of the malformed byte before it is known.
+        byte[] malformed = {'a', ',', '1', '\r', '\n', 'b', ',', (byte) 0xff, '\r', '\n'};
+        try (CsvReader<String> reader = CsvReader.open(Channels.newChannel(new ByteArrayInputStream(malformed)),
+                StandardCharsets.UTF_8, new Rfc4180StrictFormat.Provider(), CsvOptions.defaultOptions(), FIRST)) {
+            assertEquals("a", reader.next());
+            assertEquals(-1, reader.checkpoint().getByteOffset());
+        }
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("a\r\n"), new Rfc4180StrictFormat.Provider(),
+                FIRST)) {
+            assertEquals("a", reader.next());
+            assertEquals(-1, reader.checkpoint().getByteOffset());
+        }
+    }
+}
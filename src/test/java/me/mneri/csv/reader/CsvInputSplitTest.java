@@ -0,0 +1,65 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvInputSplitTest {
+    private static List<String> readAll(List<CsvInputSplit> splits) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (CsvInputSplit split : splits) {
+            try (CsvReader<String> reader = split.open(StandardCharsets.UTF_8, new Rfc4180StrictFormat.Provider(),
+                    RecycledLine::toString)) {
+                while (reader.hasNext()) {
+                    lines.add(reader.next());
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Path write(String csv) throws Exception {
+        Path path = Files.createTempFile("split", ".csv");
+        path.toFile().deleteOnExit();
+        Files.write(path, csv.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    @DisplayName("Read a file split at every size, verify every line is read exactly once.")
+    public void split() throws Exception {
+        StringBuilder csv = new StringBuilder("\ufeffid,name\r\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append(i).append(",\"caf\u00e9, ").append(i).append("\"\r\n");
+        }
+        Path path = write(csv.toString());
+        List<String> expected = readAll(CsvInputSplit.split(path, Long.MAX_VALUE));
+        assertEquals(21, expected.size());
+        for (int size = 1; size <= 64; size++) {
+            assertEquals(expected, readAll(CsvInputSplit.split(path, size)));
+        }
+    }
+
+    @Test
+    @DisplayName("Read a file with line breaks in quoted fields split at every size, verify every line is read once.")
+    public void splitQuoted() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            csv.append(i).append(",\"a\r\n\"\"b\"\"\r\n\",c\r\n");
+        }
+        Path path = write(csv.toString());
+        List<String> expected = readAll(CsvInputSplit.split(path, Long.MAX_VALUE));
+        assertEquals(20, expected.size());
+        for (int size = 1; size <= 64; size++) {
+            assertEquals(expected, readAll(CsvInputSplit.splitQuoted(path, size, '"')));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.mneri.csv.exception.SchemaViolationException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvSchemaTest {
+    private static final CsvSchema SCHEMA = CsvSchema.of(
+            CsvSchema.column("id", ColumnType.LONG).nullable(false),
+            CsvSchema.column("color", ColumnType.INTEGER).radix(16).defaultValue(0xff),
+            CsvSchema.column("price", ColumnType.BIG_DECIMAL),
+            CsvSchema.column("name", ColumnType.STRING));
+
+    private static String describe(TypedRow row) {
+        return row.getLong(0) + ":" + Integer.toHexString(row.getInt(1)) + ":" + row.getBigDecimal(2) + ":"
+                + row.getString(3) + ":" + row.isNull(2);
+    }
+
+    @Test
+    @DisplayName("Convert lines through the schema, applying radix, defaults and nullability.")
+    public void convert() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setSchema(SCHEMA);
+
+        List<String> values = new ArrayList<>();
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("id,color,price,name\r\n1,a0,1.50,x\r\n2,,,\r\n3\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> describe(line.getRow()))) {
+            reader.readHeader();
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+        }
+
+        assertEquals("[1:a0:1.50:x:false, 2:ff:null:null:true, 3:ff:null:null:true]", values.toString());
+    }
+
+    @Test
+    @DisplayName("Read lines that violate the schema, verify they are reported or thrown.")
+    public void violations() throws Exception {
+        String csv = "1,0,0,a\r\n,0,0,b\r\nx,0,0,c\r\n4,0,0,d,e\r\n5,0,0,f\r\n6,fffffffff,0,g\r\n7,-g,0,h\r\n";
+        List<String> errors = new ArrayList<>();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setSchema(SCHEMA);
+        options.setErrorHandler((line, position, raw) -> errors.add(line + ":" + raw.toString().trim()));
+
+        List<String> values = new ArrayList<>();
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getRow().getString(3))) {
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+        }
+
+        assertEquals("[a, f]", values.toString());
+        assertEquals("[2:,0,0,b, 3:x,0,0,c, 4:4,0,0,d,e, 6:6,fffffffff,0,g, 7:7,-g,0,h]", errors.toString());
+
+        options.setErrorHandler(null);
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getRow().getString(3))) {
+            reader.next();
+            SchemaViolationException e = assertThrows(SchemaViolationException.class, reader::next);
+            assertTrue(e.getMessage().contains("id"));
+        }
+    }
+}
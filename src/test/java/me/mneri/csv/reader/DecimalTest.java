@@ -0,0 +1,54 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DecimalTest {
+    private static <T> T read(String value, Deserializer<T> deserializer) throws Exception {
+        try (CsvReader<T> reader = CsvReader.open(new StringReader(value + "\r\n"), new Rfc4180StrictFormat.Provider(),
+                deserializer)) {
+            return reader.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Parse decimals at a fixed scale, verify the unscaled values.")
+    public void unscaled() throws Exception {
+        assertEquals(1234567L, (long) read("12345.67", line -> line.getUnscaledLong(0, 2)));
+        assertEquals(1234560L, (long) read("12345.6", line -> line.getUnscaledLong(0, 2)));
+        assertEquals(-1234500L, (long) read("-12345.0000", line -> line.getUnscaledLong(0, 2)));
+        assertEquals(150L, (long) read("1.5e0", line -> line.getUnscaledLong(0, 2)));
+        assertEquals(Long.MAX_VALUE, (long) read("92233720368547758.07", line -> line.getUnscaledLong(0, 2)));
+        assertEquals(new BigDecimal("1.50"), read("1.5", line -> line.getBigDecimal(0, 2)));
+    }
+
+    @Test
+    @DisplayName("Parse decimals that don't fit the scale or a long, verify they throw ArithmeticException.")
+    public void overflow() {
+        for (String value : new String[]{"1.234", "92233720368547758.08", "1e30"}) {
+            CsvConversionException e = assertThrows(CsvConversionException.class,
+                    () -> read(value, line -> line.getUnscaledLong(0, 2)));
+            assertEquals(ArithmeticException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    @DisplayName("Parse random decimals, verify getBigDecimal is the same as the BigDecimal constructor.")
+    public void random() throws Exception {
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            String value = new BigDecimal(random.nextLong()).movePointLeft(random.nextInt(25)).toPlainString();
+            assertEquals(new BigDecimal(value), read(value, line -> line.getBigDecimal(0)));
+        }
+    }
+}
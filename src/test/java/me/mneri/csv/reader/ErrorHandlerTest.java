@@ -0,0 +1,218 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.mneri.csv.deserializer.ReusingDeserializer;
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.exception.UnexpectedCharacterException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ErrorHandlerTest {
+    private static final String CSV = "a,1\r\nb\"b,2\r\nc,3\r\nd,4\"\r\ne,5\r\n";
+
+    @Test
+    @DisplayName("Read a file with malformed lines, verify they are reported and the other lines are returned.")
+    public void skipMalformedLines() throws Exception {
+        List<String> errors = new ArrayList<>();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> errors.add(line + "@" + position + ":" + raw));
+
+        List<String> values = new ArrayList<>();
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(CSV), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getString(0))) {
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+            assertEquals(2, reader.getErrorCount());
+        }
+
+        assertEquals("[a, c, e]", values.toString());
+        assertEquals("2@5:b\"b,2\r\n", errors.get(0));
+        assertEquals("4@17:d,4\"\r\n", errors.get(1));
+    }
+
+    @Test
+    @DisplayName("Read malformed lines with escaped quotes before the error, verify they are reported as read.")
+    public void skipMalformedLinesWithEscapedQuotes() throws Exception {
+        List<String> errors = new ArrayList<>();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> errors.add(line + "@" + position + ":" + raw));
+
+        List<String> values = new ArrayList<>();
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(
+                "ok,1\r\n\"a\"\"b\",x\"y\r\nnext,2\r\n\"\"\"\",\"c\"\"d\"\"e\",\"f\"\"g\"h\r\nlast,3\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getString(0))) {
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+        }
+
+        assertEquals("[ok, next, last]", values.toString());
+        assertEquals("2@6:\"a\"\"b\",x\"y\r\n", errors.get(0));
+        assertEquals("4@26:\"\"\"\",\"c\"\"d\"\"e\",\"f\"\"g\"h\r\n", errors.get(1));
+    }
+
+    @Test
+    @DisplayName("Read a line with escaped quotes the deserializer fails on, verify it is reported as read.")
+    public void skipFailingLineWithEscapedQuotes() throws Exception {
+        List<String> errors = new ArrayList<>();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> errors.add(raw.toString()));
+
+        try (CsvReader<Integer> reader = CsvReader.open(new StringReader("\"1\"\"2\",\"\"\"x\"\"\"\r\n3,4\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getInteger(0))) {
+            assertEquals(3, (int) reader.next());
+            assertFalse(reader.hasNext());
+        }
+
+        assertEquals("[\"1\"\"2\",\"\"\"x\"\"\"\r\n]", errors.toString());
+    }
+
+    @Test
+    @DisplayName("Exceed the maximum number of errors, verify the reader throws UnexpectedCharacterException.")
+    public void maxErrors() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> { });
+        options.setMaxErrors(1);
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(CSV), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getString(0))) {
+            assertEquals("a", reader.next());
+            assertEquals("c", reader.next());
+            assertThrows(UnexpectedCharacterException.class, reader::hasNext);
+        }
+    }
+
+    @Test
+    @DisplayName("Skip lines, verify skip() consumes exactly the requested number of lines.")
+    public void skip() throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("a\r\nb\r\nc\r\nd\r\n"),
+                new Rfc4180StrictFormat.Provider(), line -> line.getString(0))) {
+            reader.hasNext();
+            reader.skip(2);
+            assertEquals("c", reader.next());
+            reader.skip(1);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Read lines the deserializer fails on, verify they are reported and the other lines are returned.")
+    public void skipFailingLines() throws Exception {
+        List<String> errors = new ArrayList<>();
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> errors.add(line + "@" + position + ":" + raw));
+
+        List<Integer> values = new ArrayList<>();
+        try (CsvReader<Integer> reader = CsvReader.open(new StringReader("a,1\r\nb,x\r\nc,3\r\nd,y\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getInteger(1))) {
+            while (reader.hasNext()) {
+                values.add(reader.next());
+            }
+            assertEquals(2, reader.getErrorCount());
+        }
+
+        assertEquals("[1, 3]", values.toString());
+        assertEquals("2@5:b,x\r\n", errors.get(0));
+        assertEquals("4@15:d,y\r\n", errors.get(1));
+    }
+
+    @Test
+    @DisplayName("Read lines the deserializer fails on with next(T), verify the objects are reused and lines skipped.")
+    public void skipFailingLinesReusing() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> { });
+        ReusingDeserializer<int[]> deserializer = new ReusingDeserializer<int[]>() {
+            @Override
+            public int[] deserialize(RecycledLine line) {
+                return new int[]{line.getInteger(0)};
+            }
+
+            @Override
+            public void deserialize(RecycledLine line, int[] target) {
+                target[0] = line.getInteger(0);
+            }
+        };
+
+        try (CsvReader<int[]> reader = CsvReader.open(new StringReader("1\r\nx\r\n2\r\n3\r\ny\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, deserializer)) {
+            int[] first = new int[1];
+            int[] second = new int[1];
+            int[] value = reader.next(first);
+            assertEquals(1, value[0]);
+            assertSame(first, value);
+            value = reader.next(second);
+            assertEquals(2, value[0]);
+            assertSame(second, value);
+            value = reader.next(first);
+            assertEquals(3, value[0]);
+            assertSame(first, value);
+            assertFalse(reader.hasNext());
+            assertEquals(2, reader.getErrorCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Invoke hasNext() before next(Object) with an error handler, verify the previous object is filled.")
+    public void skipFailingLinesReusingAfterHasNext() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> { });
+        ReusingDeserializer<int[]> deserializer = new ReusingDeserializer<int[]>() {
+            @Override
+            public int[] deserialize(RecycledLine line) {
+                return new int[]{line.getInteger(0)};
+            }
+
+            @Override
+            public void deserialize(RecycledLine line, int[] target) {
+                target[0] = line.getInteger(0);
+            }
+        };
+
+        try (CsvReader<int[]> reader = CsvReader.open(new StringReader("1\r\nx\r\n2\r\n3\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, deserializer)) {
+            int[] first = new int[1];
+            int[] second = new int[1];
+            assertTrue(reader.hasNext());
+            int[] value = reader.next(first);
+            assertEquals(1, value[0]);
+            assertNotSame(first, value);
+            assertTrue(reader.hasNext());
+            value = reader.next(second);
+            assertEquals(2, value[0]);
+            assertSame(first, value);
+            assertTrue(reader.hasNext());
+            value = reader.next(value);
+            assertEquals(3, value[0]);
+            assertSame(second, value);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Exceed the maximum number of errors with a failing deserializer, verify it throws.")
+    public void maxErrorsFailingLines() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setErrorHandler((line, position, raw) -> { });
+        options.setMaxErrors(1);
+
+        try (CsvReader<Integer> reader = CsvReader.open(new StringReader("x\r\n1\r\ny\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getInteger(0))) {
+            assertEquals(1, (int) reader.next());
+            CsvConversionException e = assertThrows(CsvConversionException.class, reader::hasNext);
+            assertEquals(NumberFormatException.class, e.getCause().getClass());
+        }
+    }
+}
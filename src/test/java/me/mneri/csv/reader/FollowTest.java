@@ -0,0 +1,87 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FollowTest {
+    private static void append(Path path, byte... bytes) throws Exception {
+        Files.write(path, bytes, StandardOpenOption.APPEND);
+    }
+
+    private static void append(Path path, String text) throws Exception {
+        append(path, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CsvReader<String> follow(Path path) throws Exception {
+        return CsvReader.follow(path, StandardCharsets.UTF_8, new Rfc4180StrictFormat.Provider(),
+                CsvOptions.defaultOptions(), line -> line.getString(0) + ":" + line.getString(1));
+    }
+
+    private static Path createFile() throws Exception {
+        Path path = Files.createTempFile("follow", ".csv");
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    @Test
+    @DisplayName("Read an unterminated last line without follow mode, verify it is returned.")
+    public void unterminatedLastLine() throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("a,1\r\nb,2"), new Rfc4180StrictFormat.Provider(),
+                line -> line.getString(0) + ":" + line.getString(1))) {
+            assertEquals("a:1", reader.next());
+            assertEquals("b:2", reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Follow a file growing in the middle of a quoted field, verify the line is returned once complete.")
+    public void partialLine() throws Exception {
+        Path path = createFile();
+        append(path, "a,1\r\nb,\"x\"\"");
+
+        try (CsvReader<String> reader = follow(path)) {
+            assertEquals("a:1", reader.next());
+            assertFalse(reader.hasNext());
+            assertEquals(new Checkpoint(5, 1, 0), reader.checkpoint());
+            assertFalse(reader.await(10, TimeUnit.MILLISECONDS));
+
+            append(path, "y\",2\r");
+            assertTrue(reader.await(1, TimeUnit.SECONDS));
+            assertFalse(reader.hasNext());
+
+            append(path, "\nc,3\r\n");
+            assertTrue(reader.await(1, TimeUnit.SECONDS));
+            assertEquals("b:x\"y", reader.next());
+            assertEquals("c:3", reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    @DisplayName("Follow a file growing in the middle of a character, verify the character is decoded once complete.")
+    public void partialCharacter() throws Exception {
+        Path path = createFile();
+        append(path, (byte) 'a', (byte) ',', (byte) 0xc3);
+
+        try (CsvReader<String> reader = follow(path)) {
+            assertFalse(reader.hasNext());
+            append(path, (byte) 0xa9, (byte) '\r', (byte) '\n');
+            assertTrue(reader.await(1, TimeUnit.SECONDS));
+            assertEquals("a:\u00e9", reader.next());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.exception.NoSuchFieldException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HeaderTest {
+    private static final ColumnRef AGE = ColumnRef.of("age");
+    private static final ColumnRef NAME = ColumnRef.of("name");
+    private static final ColumnRef MISSING = ColumnRef.of("missing");
+
+    private static String read(String csv) throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                line -> line.getString(NAME) + ":" + line.getInteger(line.indexOf(AGE)))) {
+            reader.readHeader();
+            return reader.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Resolve the same column references against files with different column orders.")
+    public void reorderedColumns() throws Exception {
+        assertEquals("alice:30", read("name,age\r\nalice,30\r\n"));
+        assertEquals("bob:40", read("age,id,name\r\n40,7,bob\r\n"));
+    }
+
+    @Test
+    @DisplayName("Resolve a reference alternately against different layouts and duplicate names.")
+    public void alternatingLayouts() {
+        ColumnRef ref = ColumnRef.of("a");
+        Header first = Header.of("x", "a");
+        Header second = Header.of("a", "a", "x");
+        Header third = Header.of("x", "y");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, first.indexOf(ref));
+            assertEquals(0, second.indexOf(ref));
+            assertEquals(1, Header.of("x", "a").indexOf(ref));
+            assertEquals(-1, third.indexOf(ref));
+        }
+    }
+
+    @Test
+    @DisplayName("Create more references than the resolution table holds, verify they are all resolved.")
+    public void manyReferences() {
+        Header header = Header.of("x", "a");
+        for (int i = 0; i < ColumnRef.MAX_RESOLVED + 10; i++) {
+            ColumnRef ref = ColumnRef.of(i % 2 == 0 ? "x" : "a");
+            assertTrue(ref.id <= ColumnRef.MAX_RESOLVED);
+            assertEquals(i % 2, header.indexOf(ref));
+            assertEquals(i % 2, header.indexOf(ref));
+        }
+    }
+
+    @Test
+    @DisplayName("Resolve a column missing from the header, verify it throws NoSuchFieldException.")
+    public void missingColumn() throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("name\r\nalice\r\n"),
+                new Rfc4180StrictFormat.Provider(), line -> line.getString(MISSING))) {
+            assertEquals(-1, reader.readHeader().indexOf(MISSING.getName()));
+            CsvConversionException e = assertThrows(CsvConversionException.class, reader::next);
+            assertEquals(NoSuchFieldException.class, e.getCause().getClass());
+        }
+    }
+}
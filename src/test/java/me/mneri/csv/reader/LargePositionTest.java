@@ -0,0 +1,80 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+
+import me.mneri.csv.exception.UnexpectedCharacterException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LargePositionTest {
+    private static final String LINE = "abc,def\r\n";
+    private static final long START = (Integer.MAX_VALUE / LINE.length() - 100) * (long) LINE.length();
+    private static final long START_LINE = 3_000_000_000L;
+
+    /**
+     * An endless repetition of the same line, which skips characters without producing them.
+     */
+    private static class RepeatingReader extends Reader {
+        private final long error;
+        private long position;
+
+        RepeatingReader(long error) {
+            this.error = error;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            for (int i = 0; i < len; i++, position++) {
+                cbuf[off + i] = position == error ? '\n' : LINE.charAt((int) (position % LINE.length()));
+            }
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            position += n;
+            return n;
+        }
+    }
+
+    private static CsvReader<String> open(long error) throws Exception {
+        return CsvReader.open(new RepeatingReader(error), new Rfc4180StrictFormat.Provider(), line -> line.getString(1),
+                new Checkpoint(START, START_LINE, 0));
+    }
+
+    @Test
+    @DisplayName("Read lines past 2^31 characters, verify the values, the position and the line number.")
+    public void readPastIntRange() throws Exception {
+        try (CsvReader<String> reader = open(-1)) {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("def", reader.next());
+            }
+            assertEquals(START + 1000L * LINE.length(), reader.getPosition());
+            assertEquals(START_LINE + 1000, reader.getLineNumber());
+            assertEquals(new Checkpoint(reader.getPosition(), reader.getLineNumber(), 0), reader.checkpoint());
+        }
+    }
+
+    @Test
+    @DisplayName("Read a malformed line past 2^31 characters, verify the exception has the right line and position.")
+    public void errorPastIntRange() throws Exception {
+        long error = START + 500L * LINE.length() + 1;
+        try (CsvReader<String> reader = open(error)) {
+            UnexpectedCharacterException e = assertThrows(UnexpectedCharacterException.class, () -> {
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+            });
+            assertEquals(START_LINE + 501, e.getLineNumber());
+            assertEquals(error, e.getPosition());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import me.mneri.csv.exception.UnexpectedCharacterException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LineParserTest {
+    private final LineParser parser = new LineParser(new Rfc4180StrictFormat.Provider());
+
+    @Test
+    @DisplayName("Parse lines with and without terminator, verify the fields.")
+    public void parse() throws Exception {
+        assertEquals("[a, b, c]", parser.parse("a,b,c").toString());
+        assertEquals("[1, \"x\", ]", parser.parse("1,\"\"\"x\"\"\",\r\n").toString());
+        assertEquals(2, (int) parser.parse("1,2").getInteger(1));
+    }
+
+    @Test
+    @DisplayName("Parse a line longer than the buffer, then a short one, verify both.")
+    public void grow() throws Exception {
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+        String field = new String(chars);
+        assertEquals(field, parser.parse("[" + field + ",y]", 1, 1003).getString(0));
+        assertEquals("y", parser.parse(new char[]{'x', ',', 'y'}, 0, 3).getString(1));
+    }
+
+    @Test
+    @DisplayName("Parse malformed lines, verify they throw UnexpectedCharacterException.")
+    public void malformed() {
+        assertThrows(UnexpectedCharacterException.class, () -> parser.parse("a\"b"));
+        assertThrows(UnexpectedCharacterException.class, () -> parser.parse("a\r\nb"));
+    }
+}
@@ -0,0 +1,51 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.format.MsExcelFormat;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LocalizedTest {
+    private static <T> T read(String csv, Locale locale, Deserializer<T> deserializer) throws Exception {
+        try (CsvReader<T> reader = CsvReader.open(new StringReader(csv), new MsExcelFormat.Provider(locale),
+                deserializer)) {
+            return reader.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Read German numbers with the locale of MsExcelFormat.")
+    public void german() throws Exception {
+        String csv = "1.234,56;-1.234.567;0,5e3\r\n";
+        assertEquals("1234.56:-1234567:500.0", read(csv, Locale.GERMANY,
+                line -> line.getLocalizedDouble(0) + ":" + line.getLocalizedLong(1) + ":" + line.getLocalizedDouble(2)));
+        assertEquals(new BigDecimal("1234.56"), read(csv, Locale.GERMANY, line -> line.getLocalizedBigDecimal(0)));
+    }
+
+    @Test
+    @DisplayName("Read French numbers grouped by spaces, verify any space character is a grouping separator.")
+    public void french() throws Exception {
+        String csv = "1 234,5;1\u00a0234,5;1\u202f234,5\r\n";
+        assertEquals("1234.5:1234.5:1234.5", read(csv, Locale.FRANCE,
+                line -> line.getLocalizedDouble(0) + ":" + line.getLocalizedDouble(1) + ":" + line.getLocalizedDouble(2)));
+    }
+
+    @Test
+    @DisplayName("Read numbers with the locale of the options, overriding the one of the format.")
+    public void options() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setLocale(Locale.US);
+        try (CsvReader<Double> reader = CsvReader.open(new StringReader("\"1,234.5\"\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getLocalizedDouble(0))) {
+            assertEquals(1234.5, (double) reader.next());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import me.mneri.csv.exception.LineTooLongException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LongLineTest {
+    private static String blob(int length, char quote) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'x');
+        for (int i = 0; i < length; i += 1000) {
+            chars[i] = quote;
+        }
+        return new String(chars);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Test
+    @DisplayName("Read a line much longer than the buffer, verify the field and the following lines are read.")
+    public void growAndShrink() throws Exception {
+        String blob = blob(3_000_000, '"');
+        String csv = "a,1\r\nb," + quote(blob) + "\r\nc,3\r\n";
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(4_000_000);
+        options.setBufferPool(new BufferPool(64L << 20));
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, line -> {
+                    StringWriter out = new StringWriter();
+                    line.writeTo(1, out);
+                    assertEquals(line.getCharSequence(1).length(), out.toString().length());
+                    return out.toString();
+                })) {
+            assertEquals("1", reader.next());
+            assertEquals(blob, reader.next());
+            assertEquals("3", reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Read a line longer than the maximum line length, verify it throws LineTooLongException.")
+    public void tooLong() throws Exception {
+        String csv = "a,1\r\nb," + blob(100_000, 'x') + "\r\n";
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                line -> line.getString(1))) {
+            assertEquals("1", reader.next());
+            LineTooLongException e = assertThrows(LineTooLongException.class, reader::next);
+            assertEquals(2, e.getLineNumber());
+            assertEquals(5, e.getPosition());
+        }
+    }
+
+    @Test
+    @DisplayName("Read a long line with a pool that holds a single grown buffer, verify the reader does not wait for itself.")
+    public void growWithSmallPool() throws Exception {
+        String blob = blob(40_000, 'x');
+        String csv = "a," + blob + "\r\nb,2\r\n";
+        BufferPool pool = new BufferPool(131_072);
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(1 << 22);
+        options.setBufferPool(pool);
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getString(1))) {
+            assertEquals(blob, reader.next());
+            assertEquals("2", reader.next());
+        }
+        assertTrue(pool.getAllocated() <= pool.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Read a line that outgrows the capacity of the pool, verify it throws LineTooLongException.")
+    public void tooLongForPool() throws Exception {
+        String csv = "a,1\r\nb," + blob(40_000, 'x') + "\r\n";
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(1 << 22);
+        options.setBufferPool(new BufferPool(65_536));
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, line -> line.getString(1))) {
+            assertEquals("1", reader.next());
+            LineTooLongException e = assertThrows(LineTooLongException.class, reader::next);
+            assertEquals(2, e.getLineNumber());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class NumberParserTest {
+    private final NumberParser parser = new NumberParser();
+
+    private void check(String value) {
+        char[] chars = ("," + value + ",").toCharArray();
+        assertEquals(Double.doubleToRawLongBits(Double.parseDouble(value)),
+                Double.doubleToRawLongBits(parser.parseDouble(chars, 1, value.length())), value);
+        assertEquals(Float.floatToRawIntBits(Float.parseFloat(value)),
+                Float.floatToRawIntBits(parser.parseFloat(chars, 1, value.length())), value);
+    }
+
+    @Test
+    @DisplayName("Parse edge cases, verify the results are the same as Double.parseDouble and Float.parseFloat.")
+    public void edgeCases() {
+        String[] values = {"0", "-0", "+1", "1.", ".5", "1e23", "9007199254740993", "9999999999999999999",
+                "2.4703282292062327e-324", "2.4703282292062328e-324", "1.7976931348623157e308",
+                "1.7976931348623159e308", "1e-400", "1e400", "1.4e-45", "7.0e-46", "3.4028235e38", "NaN", "-Infinity",
+                " 1.5 ", "1.5d", "0x1p3", "1.00000017881393421514957253748434595763683319091796875001"};
+        for (String value : values) {
+            check(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Parse random doubles and floats, verify the results are the same as the JDK.")
+    public void random() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(d)) {
+                check(Double.toString(d));
+            }
+            check(Float.toString(Float.intBitsToFloat(random.nextInt() & 0x7F7F_FFFF)));
+        }
+    }
+
+    private void checkInteger(String value, int radix) {
+        char[] chars = ("," + value + ",").toCharArray();
+        Long expected;
+        try {
+            expected = Long.parseLong(value, radix);
+        } catch (NumberFormatException e) {
+            expected = null;
+        }
+        boolean parsed = parser.parseInteger(chars, 1, value.length(), radix, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(expected != null, parsed, value);
+        if (parsed) {
+            assertEquals((long) expected, parser.getUnscaled(), value);
+        }
+        boolean fits = expected != null && expected >= Integer.MIN_VALUE && expected <= Integer.MAX_VALUE;
+        assertEquals(fits, parser.parseInteger(chars, 1, value.length(), radix, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                value);
+    }
+
+    @Test
+    @DisplayName("Parse integers, verify they are accepted and rejected like Long.parseLong and Integer.parseInt.")
+    public void integers() {
+        String[] values = {"0", "-0", "+7", "-", "+", "", "12a", " 1", "1 ", "--1", "9223372036854775807",
+                "9223372036854775808", "-9223372036854775808", "-9223372036854775809", "2147483647", "2147483648",
+                "-2147483648", "-2147483649", "99999999999999999999", "\u0661\u0662"};
+        for (String value : values) {
+            checkInteger(value, 10);
+        }
+        checkInteger("7fffffffffffffff", 16);
+        checkInteger("-8000000000000000", 16);
+        checkInteger("8000000000000000", 16);
+        checkInteger("zz", 36);
+        checkInteger("102", 2);
+
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            int radix = 2 + random.nextInt(35);
+            checkInteger(Long.toString(random.nextLong() >> random.nextInt(64), radix), radix);
+        }
+    }
+
+    @Test
+    @DisplayName("Parse malformed numbers, verify they throw NumberFormatException.")
+    public void malformed() {
+        for (String value : new String[]{"", "-", ".", "e5", "1e", "1e+", "1.2.3", "1,5"}) {
+            char[] chars = value.toCharArray();
+            assertThrows(NumberFormatException.class, () -> parser.parseDouble(chars, 0, chars.length));
+        }
+    }
+
+    @Test
+    @DisplayName("Read doubles and floats as primitives from a line, verify they match the boxed getters.")
+    public void primitiveGetters() throws Exception {
+        LineParser lines = new LineParser(new Rfc4180StrictFormat.Provider());
+        RecycledLine line = lines.parse("1.5,-2.25e3,0.1");
+        for (int i = 0; i < line.getFieldCount(); i++) {
+            assertEquals(line.getDouble(i), line.getDoubleValue(i), 0);
+            assertEquals(line.getFloat(i), line.getFloatValue(i), 0);
+        }
+        assertEquals(0.1, line.getDoubleValue(2), 0);
+        assertEquals(0.1f, line.getFloatValue(2), 0);
+    }
+}
@@ -0,0 +1,42 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class QuotedFieldTest {
+    private static String read(String csv, CsvOptions options) throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                options, RecycledLine::toString)) {
+            return reader.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Read quoted fields starting with a delimiter or a line break, verify the fields.")
+    public void leadingSeparator() throws Exception {
+        assertEquals("[x, ,a]", read("x,\",a\"\r\n", CsvOptions.defaultOptions()));
+        assertEquals("[,a]", read("\",a\"\r\n", CsvOptions.defaultOptions()));
+        assertEquals("[x, \ra]", read("x,\"\ra\"\r\n", CsvOptions.defaultOptions()));
+    }
+
+    @Test
+    @DisplayName("Read a field with many escaped quotes across buffer growths, verify the quotes are unescaped.")
+    public void escapedQuotes() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        StringBuilder csv = new StringBuilder("1,\"");
+        for (int i = 0; i < 50_000; i++) {
+            expected.append("\"a");
+            csv.append("\"\"a");
+        }
+        csv.append("\",2\r\n");
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(1 << 20);
+        assertEquals("[1, " + expected + ", 2]", read(csv.toString(), options));
+    }
+}
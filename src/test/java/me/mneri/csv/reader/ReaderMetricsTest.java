@@ -0,0 +1,123 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ReaderMetricsTest {
+    private static final String CSV = "a,b\r\n\"c\"\"d\",e\r\nf,g\r\n";
+
+    private static CsvOptions options(ReaderMetrics metrics) {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMetrics(metrics);
+        return options;
+    }
+
+    @Test
+    @DisplayName("Read a small file, verify the counters and the stats reported on close.")
+    public void counters() throws Exception {
+        ReaderMetrics metrics = new ReaderMetrics();
+        List<ReaderStats> closed = new ArrayList<>();
+        metrics.addListener(closed::add);
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(CSV), new Rfc4180StrictFormat.Provider(),
+                options(metrics), line -> line.getString(0))) {
+            reader.skip(1);
+            assertEquals("c\"d", reader.next());
+            assertEquals("f", reader.next());
+            assertEquals(false, reader.hasNext());
+        }
+
+        assertEquals(1, closed.size());
+        ReaderStats stats = closed.get(0);
+        assertEquals(3, stats.getRecords());
+        assertEquals(4, stats.getFields());
+        assertEquals(1, stats.getEscapedQuotes());
+        assertEquals(CSV.length(), stats.getCharsRead());
+        assertEquals(2, stats.getReadCalls());
+        assertEquals(3, metrics.getRecords());
+        assertEquals(1, metrics.getClosedReaders());
+    }
+
+    @Test
+    @DisplayName("Read a file, verify the bytes read are counted.")
+    public void bytes() throws Exception {
+        File file = File.createTempFile("metrics", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), CSV.getBytes(StandardCharsets.US_ASCII));
+        ReaderMetrics metrics = new ReaderMetrics();
+
+        try (CsvReader<String> reader = CsvReader.open(file, new Rfc4180StrictFormat.Provider(), options(metrics),
+                line -> line.getString(0))) {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+        }
+
+        assertEquals(CSV.length(), metrics.getBytesRead());
+        assertEquals(3, metrics.getRecords());
+    }
+
+    @Test
+    @DisplayName("Reset a reader of a file to a new input, verify each input is reported and bytes are not carried over.")
+    public void reset() throws Exception {
+        File file = File.createTempFile("metrics", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), CSV.getBytes(StandardCharsets.US_ASCII));
+        ReaderMetrics metrics = new ReaderMetrics();
+        List<ReaderStats> closed = new ArrayList<>();
+        metrics.addListener(closed::add);
+
+        try (CsvReader<String> reader = CsvReader.open(file, new Rfc4180StrictFormat.Provider(), options(metrics),
+                line -> line.getString(0))) {
+            reader.skip(3);
+            reader.reset(new StringReader("h,i\r\n"));
+            assertEquals("h", reader.next());
+            assertEquals(false, reader.hasNext());
+        }
+
+        assertEquals(2, closed.size());
+        assertEquals(CSV.length(), closed.get(0).getBytesRead());
+        assertEquals(3, closed.get(0).getRecords());
+        assertEquals(0, closed.get(1).getBytesRead());
+        assertEquals(1, closed.get(1).getRecords());
+        assertEquals(CSV.length(), metrics.getBytesRead());
+        assertEquals(4, metrics.getRecords());
+        assertEquals(2, metrics.getClosedReaders());
+    }
+
+    @Test
+    @DisplayName("Register the metrics to the platform MBean server, verify the attributes are visible.")
+    public void jmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ReaderMetrics metrics = new ReaderMetrics();
+        ObjectName name = metrics.register("test");
+
+        try (CsvReader<String> reader = CsvReader.open(new StringReader(CSV), new Rfc4180StrictFormat.Provider(),
+                options(metrics), line -> line.getString(0))) {
+            reader.next();
+        }
+
+        try {
+            assertEquals(1L, server.getAttribute(name, "Records"));
+            assertEquals(1L, server.getAttribute(name, "ClosedReaders"));
+        } finally {
+            metrics.unregister("test");
+        }
+        assertEquals(false, server.isRegistered(name));
+    }
+}
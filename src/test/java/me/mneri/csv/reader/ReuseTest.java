@@ -0,0 +1,57 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+
+import me.mneri.csv.deserializer.ReusingDeserializer;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ReuseTest {
+    private static class Point {
+        int x;
+        int y;
+    }
+
+    private static class PointDeserializer implements ReusingDeserializer<Point> {
+        @Override
+        public Point deserialize(RecycledLine line) throws Exception {
+            Point point = new Point();
+            deserialize(line, point);
+            return point;
+        }
+
+        @Override
+        public void deserialize(RecycledLine line, Point target) {
+            target.x = line.getInteger(0);
+            target.y = line.getInteger(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Read lines into the same object, verify it is filled and returned every time.")
+    public void reuse() throws Exception {
+        try (CsvReader<Point> reader = CsvReader.open(new StringReader("1,2\r\n3,4\r\n"),
+                new Rfc4180StrictFormat.Provider(), new PointDeserializer())) {
+            Point point = new Point();
+            int sum = 0;
+            while (reader.hasNext()) {
+                assertSame(point, reader.next(point));
+                sum += point.x * point.y;
+            }
+            assertEquals(14, sum);
+        }
+    }
+
+    @Test
+    @DisplayName("Read lines with a plain deserializer, verify a new object is returned.")
+    public void fallback() throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("a\r\n"), new Rfc4180StrictFormat.Provider(),
+                line -> line.getString(0))) {
+            assertEquals("a", reader.next("reused"));
+        }
+    }
+}
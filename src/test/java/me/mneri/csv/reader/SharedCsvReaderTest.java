@@ -0,0 +1,87 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SharedCsvReaderTest {
+    private static final int LINES = 20_000;
+    private static final int THREADS = 4;
+
+    private static SharedCsvReader<Integer> open() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            csv.append(i).append(",x\r\n");
+        }
+        return new SharedCsvReader<>(CsvReader.open(new StringReader(csv.toString()),
+                new Rfc4180StrictFormat.Provider(), line -> line.getInteger(0)));
+    }
+
+    @Test
+    @DisplayName("Drain a reader from many threads, verify each record is returned exactly once.")
+    public void competingConsumers() throws Exception {
+        AtomicIntegerArray seen = new AtomicIntegerArray(LINES);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try (SharedCsvReader<Integer> reader = open()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                boolean batches = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>();
+                    while (true) {
+                        batch.clear();
+                        if (batches) {
+                            if (reader.drainTo(batch, 64) == 0) {
+                                return null;
+                            }
+                        } else {
+                            Integer record = reader.poll();
+                            if (record == null) {
+                                return null;
+                            }
+                            batch.add(record);
+                        }
+                        for (int i : batch) {
+                            seen.incrementAndGet(i);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < LINES; i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Take the records of a reader, verify take() throws at the end and poll() returns null.")
+    public void endOfStream() throws Exception {
+        try (SharedCsvReader<Integer> reader = open()) {
+            for (int i = 0; i < LINES; i++) {
+                assertEquals(i, (int) reader.take());
+            }
+            assertThrows(NoSuchElementException.class, reader::take);
+            assertNull(reader.poll());
+        }
+    }
+}
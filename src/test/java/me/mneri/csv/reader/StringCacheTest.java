@@ -0,0 +1,86 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.mneri.csv.exception.IllegalCsvOptionsException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StringCacheTest {
+    private static String get(StringCache cache, String value) {
+        char[] buffer = ("<" + value + ">").toCharArray();
+        return cache.get(buffer, 1, value.length());
+    }
+
+    @Test
+    @DisplayName("Look up the same characters twice, verify the same instance is returned.")
+    public void hit() {
+        StringCache cache = new StringCache(16);
+        String first = get(cache, "IT");
+        assertEquals("IT", first);
+        assertSame(first, get(cache, "IT"));
+        assertEquals("", get(cache, ""));
+    }
+
+    @Test
+    @DisplayName("Look up colliding and overflowing values, verify the strings are always correct.")
+    public void collisions() {
+        // "Aa" and "BB" have the same hash code, so they compete for the same slot.
+        StringCache cache = new StringCache(1);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Aa", get(cache, "Aa"));
+            assertEquals("BB", get(cache, "BB"));
+        }
+        for (int i = 0; i < 1000; i++) {
+            String value = Integer.toString(i);
+            assertEquals(value, get(cache, value));
+        }
+        assertEquals("AaAa", get(cache, "AaAa"));
+        assertEquals("AaBB", get(cache, "AaBB"));
+    }
+
+    @Test
+    @DisplayName("Read lines with a deduplicated column, verify only that column shares instances across lines.")
+    public void deduplicatedColumns() throws Exception {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setDeduplicatedColumns(1);
+        List<String[]> rows = new ArrayList<>();
+
+        try (CsvReader<String[]> reader = CsvReader.open(new StringReader("a,IT\r\na,IT\r\nb,FR\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> {
+                    assertSame(line.getString(0), line.getString(0));
+                    return new String[]{line.getString(0), line.getString(1)};
+                })) {
+            while (reader.hasNext()) {
+                rows.add(reader.next());
+            }
+        }
+
+        assertEquals(3, rows.size());
+        assertSame(rows.get(0)[1], rows.get(1)[1]);
+        assertNotSame(rows.get(0)[0], rows.get(1)[0]);
+        assertEquals("a", rows.get(1)[0]);
+        assertEquals("b", rows.get(2)[0]);
+        assertEquals("FR", rows.get(2)[1]);
+    }
+
+    @Test
+    @DisplayName("Deduplicate a negative column, verify it throws IllegalCsvOptionsException.")
+    public void negativeColumn() {
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setDeduplicatedColumns(0, -1);
+        assertThrows(IllegalCsvOptionsException.class, () -> CsvReader.open(new StringReader("a\r\n"),
+                new Rfc4180StrictFormat.Provider(), options, line -> line.getString(0)));
+        assertThrows(IllegalCsvOptionsException.class,
+                () -> new LineParser(new Rfc4180StrictFormat.Provider(), options));
+    }
+}
@@ -0,0 +1,64 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import me.mneri.csv.deserializer.Deserializer;
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TemporalTest {
+    private static final DateTimePattern PATTERN = DateTimePattern.of("dd/MM/yyyy HH:mm:ss.SSS");
+
+    private static <T> T read(String csv, Deserializer<T> deserializer) throws Exception {
+        try (CsvReader<T> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                deserializer)) {
+            return reader.next();
+        }
+    }
+
+    @Test
+    @DisplayName("Parse ISO-8601 fields, verify they match java.time.")
+    public void iso() throws Exception {
+        assertEquals(LocalDate.parse("2016-02-29"), read("2016-02-29\r\n", line -> line.getLocalDate(0)));
+        assertEquals(LocalDateTime.parse("2018-12-31T23:59:59.123456789"),
+                read("2018-12-31T23:59:59.123456789\r\n", line -> line.getLocalDateTime(0)));
+        assertEquals(LocalDateTime.parse("2018-12-31T23:59"), read("2018-12-31 23:59\r\n", line -> line.getLocalDateTime(0)));
+        assertEquals(Instant.parse("1969-12-31T22:00:00.5Z"),
+                read("1970-01-01T00:00:00.5+02:00\r\n", line -> line.getInstant(0)));
+        assertEquals(Instant.parse("2018-12-31T23:59:59.999Z").toEpochMilli(),
+                (long) read("2018-12-31T23:59:59.999Z\r\n", line -> line.getEpochMillis(0)));
+    }
+
+    @Test
+    @DisplayName("Parse fields with a pattern, reusing the cached date of the previous lines.")
+    public void pattern() throws Exception {
+        String csv = "31/12/2018 23:59:59.999\r\n31/12/2018 00:00:00.001\r\n01/01/2019 12:00:00.000\r\n";
+        StringBuilder values = new StringBuilder();
+        try (CsvReader<LocalDateTime> reader = CsvReader.open(new StringReader(csv), new Rfc4180StrictFormat.Provider(),
+                line -> line.getLocalDateTime(0, PATTERN))) {
+            while (reader.hasNext()) {
+                values.append(reader.next()).append(' ');
+            }
+        }
+        assertEquals("2018-12-31T23:59:59.999 2018-12-31T00:00:00.001 2019-01-01T12:00 ", values.toString());
+    }
+
+    @Test
+    @DisplayName("Parse invalid dates, verify they throw DateTimeParseException.")
+    public void invalid() {
+        for (String csv : new String[]{"2018-02-29\r\n", "2018-1-01\r\n", "2018-01-01x\r\n"}) {
+            CsvConversionException e = assertThrows(CsvConversionException.class,
+                    () -> read(csv, line -> line.getLocalDate(0)));
+            assertEquals(DateTimeParseException.class, e.getCause().getClass());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.Map;
+
+import me.mneri.csv.exception.CsvConversionException;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenMapperTest {
+    private static final TokenMapper<DayOfWeek> DAYS = TokenMapper.ofEnum(DayOfWeek.class);
+    private static final TokenMapper<Boolean> YES_NO = TokenMapper.ofBooleans("Y", "N");
+
+    @Test
+    @DisplayName("Map tokens sharing prefixes, verify unknown tokens and prefixes are not mapped.")
+    public void map() {
+        Map<String, Integer> tokens = new HashMap<>();
+        tokens.put("open", 1);
+        tokens.put("opened", 2);
+        tokens.put("closed", 3);
+        TokenMapper<Integer> mapper = TokenMapper.of(tokens, true);
+        assertEquals(1, (int) mapper.map("OPEN"));
+        assertEquals(2, (int) mapper.map("opened"));
+        assertEquals(3, (int) mapper.map("Closed"));
+        assertNull(mapper.map("ope"));
+        assertNull(mapper.map("openedx"));
+        assertNull(mapper.map(""));
+        assertEquals(DayOfWeek.MONDAY, DAYS.map("MONDAY"));
+        assertNull(DAYS.map("monday"));
+    }
+
+    @Test
+    @DisplayName("Read enums and booleans through mappers, verify unknown tokens throw IllegalArgumentException.")
+    public void read() throws Exception {
+        try (CsvReader<String> reader = CsvReader.open(new StringReader("FRIDAY,y,TRUE\r\nSUNDAY,x,no\r\n"),
+                new Rfc4180StrictFormat.Provider(), line -> line.getEnum(0, DAYS) + ":" + line.getBoolean(1, YES_NO)
+                        + ":" + line.getBoolean(2))) {
+            assertEquals("FRIDAY:true:true", reader.next());
+            CsvConversionException e = assertThrows(CsvConversionException.class, reader::next);
+            assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package me.mneri.csv.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.mneri.csv.format.Rfc4180StrictFormat;
+import me.mneri.csv.option.CsvOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ReaderEventsTest {
+    private static List<RecordedEvent> events(Recording recording, String name) throws Exception {
+        Path dump = Files.createTempFile("reader", ".jfr");
+        dump.toFile().deleteOnExit();
+        recording.dump(dump);
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().equals(name)) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("Read a file with a long line while recording, verify the Read totals and the BufferMove events.")
+    public void read() throws Exception {
+        char[] blob = new char[40_000];
+        Arrays.fill(blob, 'x');
+        String csv = "\u00e8,1\r\nb," + new String(blob) + "\r\nc,3\r\n";
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        Path path = Files.createTempFile("reader", ".csv");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes);
+        CsvOptions options = CsvOptions.defaultOptions();
+        options.setMaxLineLength(1 << 20);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("me.mneri.csv.Read");
+            recording.enable("me.mneri.csv.BufferMove").withThreshold(Duration.ZERO);
+            recording.start();
+            try (CsvReader<String> reader = CsvReader.open(path, StandardCharsets.UTF_8,
+                    new Rfc4180StrictFormat.Provider(), options, line -> line.getString(0))) {
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+            }
+            recording.stop();
+
+            List<RecordedEvent> reads = events(recording, "me.mneri.csv.Read");
+            assertEquals(1, reads.size());
+            RecordedEvent read = reads.get(0);
+            assertEquals(path.toString(), read.getString("source"));
+            assertEquals(bytes.length, read.getLong("bytes"));
+            assertEquals(csv.length(), read.getLong("characters"));
+            assertEquals(3, read.getLong("records"));
+
+            List<RecordedEvent> moves = events(recording, "me.mneri.csv.BufferMove");
+            assertTrue(moves.stream().anyMatch(e -> e.getInt("newCapacity") > e.getInt("oldCapacity")),
+                    moves.toString());
+        }
+    }
+}
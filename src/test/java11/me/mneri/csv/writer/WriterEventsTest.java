@@ -0,0 +1,45 @@
+package me.mneri.csv.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class WriterEventsTest {
+    @Test
+    @DisplayName("Flush a writer while recording, verify a Flush event reports the lines written since the last one.")
+    public void flush() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable("me.mneri.csv.Flush").withThreshold(Duration.ZERO);
+            recording.start();
+            try (CsvWriter<String> writer = new DefaultCsvWriterFactory().open(new StringWriter(),
+                    (value, out) -> out.add(value))) {
+                writer.write("a");
+                writer.write("b");
+                writer.flush();
+            }
+            recording.stop();
+
+            Path dump = Files.createTempFile("writer", ".jfr");
+            dump.toFile().deleteOnExit();
+            recording.dump(dump);
+            List<Long> lines = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (event.getEventType().getName().equals("me.mneri.csv.Flush")) {
+                    lines.add(event.getLong("lines"));
+                }
+            }
+            assertEquals(2L, (long) lines.get(0));
+        }
+    }
+}